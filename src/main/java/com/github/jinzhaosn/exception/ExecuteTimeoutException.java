@@ -0,0 +1,41 @@
+/*
+ *    Copyright 2021-2022 jinzhaosn
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.github.jinzhaosn.exception;
+
+/**
+ * 执行超时异常
+ *
+ * @auther 961374431@qq.com
+ * @date 2022年01月18日
+ */
+public class ExecuteTimeoutException extends RuntimeException{
+    public ExecuteTimeoutException() {
+        super();
+    }
+
+    public ExecuteTimeoutException(String message) {
+        super(message);
+    }
+
+    public ExecuteTimeoutException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public ExecuteTimeoutException(Throwable cause) {
+        super(cause);
+    }
+}
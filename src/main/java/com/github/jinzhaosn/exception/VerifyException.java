@@ -18,11 +18,15 @@ package com.github.jinzhaosn.exception;
 
 /**
  * 验证异常
+ * 校验失败作为正常流程频繁出现时，可以通过{@link #setStackTraceEnabled(boolean)}全局关闭堆栈填充，
+ * 或者通过{@link #VerifyException(String, boolean)}对单次异常关闭，以降低抛出异常的开销
  *
  * @auther 961374431@qq.com
  * @date 2021年12月20
  */
 public class VerifyException extends RuntimeException{
+    private static volatile boolean stackTraceEnabled = true;
+
     public VerifyException() {
         super();
     }
@@ -38,4 +42,32 @@ public class VerifyException extends RuntimeException{
     public VerifyException(Throwable cause) {
         super(cause);
     }
+
+    /**
+     * 构建验证异常
+     *
+     * @param message            异常消息
+     * @param writableStackTrace 是否填充堆栈，为false时不受全局设置影响
+     */
+    public VerifyException(String message, boolean writableStackTrace) {
+        super(message, null, true, writableStackTrace);
+    }
+
+    /**
+     * 全局设置是否填充堆栈，默认填充
+     *
+     * @param enabled 是否填充堆栈
+     */
+    public static void setStackTraceEnabled(boolean enabled) {
+        stackTraceEnabled = enabled;
+    }
+
+    public static boolean isStackTraceEnabled() {
+        return stackTraceEnabled;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return stackTraceEnabled ? super.fillInStackTrace() : this;
+    }
 }
@@ -0,0 +1,83 @@
+/**
+ *    Copyright 2021-2022 jinzhaosn
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.github.jinzhaosn.function;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * 过期后重新计算的Supplier
+ * 线程安全，有效期内直接返回结果，过期后首次get时加锁同步计算，其余线程等待新值。
+ * 通过{@link Lazy#expiring(Supplier, Duration)}构建
+ *
+ * @auther 961374431@qq.com
+ * @date 2022年01月20日
+ */
+public final class ExpiringLazy<T> implements Supplier<T> {
+    private final Supplier<? extends T> supplier;
+    private final long ttlNanos;
+    private volatile Holder<T> holder;
+
+    ExpiringLazy(Supplier<? extends T> supplier, Duration ttl) {
+        Objects.requireNonNull(supplier, "计算过程不能为null");
+        Objects.requireNonNull(ttl, "有效时长不能为null");
+        if (ttl.isNegative()) {
+            throw new IllegalArgumentException("有效时长不能为负数");
+        }
+        this.supplier = supplier;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    @Override
+    public T get() {
+        Holder<T> current = holder;
+        if (current == null || current.isExpired()) {
+            synchronized (this) {
+                current = holder;
+                if (current == null || current.isExpired()) {
+                    current = new Holder<>(supplier.get(), System.nanoTime() + ttlNanos);
+                    holder = current;
+                }
+            }
+        }
+        return current.value;
+    }
+
+    /**
+     * 使当前值失效，下次get时重新计算
+     */
+    public void invalidate() {
+        holder = null;
+    }
+
+    /**
+     * 计算结果及过期时间
+     */
+    static final class Holder<T> {
+        final T value;
+        final long expiresAt;
+
+        Holder(T value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired() {
+            return System.nanoTime() - expiresAt >= 0;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/**
+ *    Copyright 2021-2022 jinzhaosn
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.github.jinzhaosn.function;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * 延迟计算、只计算一次的Supplier
+ * 线程安全，首次get时通过双重检查加锁计算，之后直接返回结果（包括null）
+ *
+ *  使用例子：
+ *  Lazy<Config> defaultConfig = Lazy.of(() -> buildDefault());
+ *  Config config = CheckUtil.check(data, predicate, defaultConfig);
+ *
+ * @auther 961374431@qq.com
+ * @date 2022年01月20日
+ */
+public final class Lazy<T> implements Supplier<T> {
+    private static final Object UNSET = new Object();
+
+    private volatile Object value = UNSET;
+    private Supplier<? extends T> supplier;
+
+    private Lazy(Supplier<? extends T> supplier) {
+        this.supplier = supplier;
+    }
+
+    /**
+     * 构建只计算一次的Supplier
+     *
+     * @param supplier 计算过程
+     * @param <T>      类型
+     * @return 延迟Supplier
+     */
+    public static <T> Lazy<T> of(Supplier<? extends T> supplier) {
+        Objects.requireNonNull(supplier, "计算过程不能为null");
+        return new Lazy<>(supplier);
+    }
+
+    /**
+     * 构建过期后重新计算的Supplier，过期后首次get时同步计算
+     *
+     * @param supplier 计算过程
+     * @param ttl      有效时长
+     * @param <T>      类型
+     * @return 延迟Supplier
+     */
+    public static <T> ExpiringLazy<T> expiring(Supplier<? extends T> supplier, Duration ttl) {
+        return new ExpiringLazy<>(supplier, ttl);
+    }
+
+    /**
+     * 构建过期后异步刷新的Supplier，刷新完成前返回旧值
+     *
+     * @param supplier 计算过程
+     * @param ttl      有效时长
+     * @param executor 刷新线程池
+     * @param <T>      类型
+     * @return 延迟Supplier
+     */
+    public static <T> RefreshingLazy<T> refreshing(Supplier<? extends T> supplier, Duration ttl, Executor executor) {
+        return new RefreshingLazy<>(supplier, ttl, executor);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get() {
+        Object result = value;
+        if (result == UNSET) {
+            synchronized (this) {
+                result = value;
+                if (result == UNSET) {
+                    result = supplier.get();
+                    value = result;
+                    // 计算完成后释放计算过程引用的对象
+                    supplier = null;
+                }
+            }
+        }
+        return (T) result;
+    }
+
+    /**
+     * 是否已经计算
+     *
+     * @return 是否已计算
+     */
+    public boolean isInitialized() {
+        return value != UNSET;
+    }
+}
@@ -0,0 +1,71 @@
+/**
+ *    Copyright 2021-2022 jinzhaosn
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.github.jinzhaosn.function;
+
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+/**
+ * 延迟计算、只计算一次的long值，不装箱
+ * 线程安全，首次get时通过双重检查加锁计算
+ *
+ * @auther 961374431@qq.com
+ * @date 2022年01月20日
+ */
+public final class LazyLong implements LongSupplier {
+    private volatile boolean initialized;
+    private long value;
+    private LongSupplier supplier;
+
+    private LazyLong(LongSupplier supplier) {
+        this.supplier = supplier;
+    }
+
+    /**
+     * 构建只计算一次的LongSupplier
+     *
+     * @param supplier 计算过程
+     * @return 延迟Supplier
+     */
+    public static LazyLong of(LongSupplier supplier) {
+        Objects.requireNonNull(supplier, "计算过程不能为null");
+        return new LazyLong(supplier);
+    }
+
+    @Override
+    public long getAsLong() {
+        // value的写入先于initialized的volatile写入，读到initialized为true时value可见
+        if (!initialized) {
+            synchronized (this) {
+                if (!initialized) {
+                    value = supplier.getAsLong();
+                    initialized = true;
+                    supplier = null;
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * 是否已经计算
+     *
+     * @return 是否已计算
+     */
+    public boolean isInitialized() {
+        return initialized;
+    }
+}
@@ -0,0 +1,97 @@
+/**
+ *    Copyright 2021-2022 jinzhaosn
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.github.jinzhaosn.function;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * 过期后异步刷新的Supplier
+ * 线程安全，首次get时同步计算；之后过期时由一个线程提交异步刷新，刷新完成前所有线程继续返回旧值。
+ * 刷新失败时保留旧值并顺延一个有效时长，期间不再提交刷新，避免计算过程持续失败时每次get都提交刷新。
+ * 通过{@link Lazy#refreshing(Supplier, Duration, Executor)}构建
+ *
+ * @auther 961374431@qq.com
+ * @date 2022年01月20日
+ */
+public final class RefreshingLazy<T> implements Supplier<T> {
+    private final Supplier<? extends T> supplier;
+    private final long ttlNanos;
+    private final Executor executor;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile ExpiringLazy.Holder<T> holder;
+
+    RefreshingLazy(Supplier<? extends T> supplier, Duration ttl, Executor executor) {
+        Objects.requireNonNull(supplier, "计算过程不能为null");
+        Objects.requireNonNull(ttl, "有效时长不能为null");
+        if (ttl.isNegative()) {
+            throw new IllegalArgumentException("有效时长不能为负数");
+        }
+        Objects.requireNonNull(executor, "刷新线程池不能为null");
+        this.supplier = supplier;
+        this.ttlNanos = ttl.toNanos();
+        this.executor = executor;
+    }
+
+    @Override
+    public T get() {
+        ExpiringLazy.Holder<T> current = holder;
+        if (current == null) {
+            synchronized (this) {
+                current = holder;
+                if (current == null) {
+                    current = compute();
+                    holder = current;
+                }
+            }
+        } else if (current.isExpired() && refreshing.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::refresh);
+            } catch (RejectedExecutionException exp) {
+                refreshing.set(false);
+            }
+        }
+        return current.value;
+    }
+
+    private void refresh() {
+        try {
+            holder = compute();
+        } catch (RuntimeException exp) {
+            // 刷新失败，保留旧值并顺延有效期后再清除刷新标记
+            holder = new ExpiringLazy.Holder<>(holder.value, System.nanoTime() + ttlNanos);
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    private ExpiringLazy.Holder<T> compute() {
+        return new ExpiringLazy.Holder<>(supplier.get(), System.nanoTime() + ttlNanos);
+    }
+
+    /**
+     * 是否正在异步刷新
+     *
+     * @return 是否正在刷新
+     */
+    public boolean isRefreshing() {
+        return refreshing.get();
+    }
+}
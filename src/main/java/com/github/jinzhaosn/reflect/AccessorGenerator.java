@@ -0,0 +1,686 @@
+/**
+ *    Copyright 2021-2022 jinzhaosn
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.github.jinzhaosn.reflect;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 访问器类生成
+ * 为属性和方法生成直接读写、调用成员的实现类（getfield、putfield、invokevirtual等字节码），
+ * 以隐藏类的形式定义为成员所在类的嵌套成员，因此可以访问私有成员。
+ * 访问器的类型在调用点是单态的，JIT可以像普通接口调用一样内联到成员访问本身，
+ * 而捕获在对象属性中的MethodHandle不是常量，invokeExact无法被内联。
+ * 隐藏类需要JDK 15及以上；不支持、无法访问或需要复杂类型转换时返回null，由调用方使用MethodHandle实现
+ *
+ * @auther 961374431@qq.com
+ * @date 2022年01月09日
+ */
+final class AccessorGenerator {
+    private static final String CLASS_SUFFIX = "$$Accessor";
+
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+    private static final int ACC_SYNTHETIC = 0x1000;
+
+    private static final int ACONST_NULL = 0x01;
+    private static final int ILOAD_2 = 0x1c;
+    private static final int LLOAD_2 = 0x20;
+    private static final int DLOAD_2 = 0x28;
+    private static final int ALOAD_0 = 0x2a;
+    private static final int ALOAD_1 = 0x2b;
+    private static final int ALOAD_2 = 0x2c;
+    private static final int AALOAD = 0x32;
+    private static final int DUP = 0x59;
+    private static final int DUP_X1 = 0x5a;
+    private static final int SWAP = 0x5f;
+    private static final int I2L = 0x85;
+    private static final int I2F = 0x86;
+    private static final int I2D = 0x87;
+    private static final int L2F = 0x89;
+    private static final int L2D = 0x8a;
+    private static final int F2D = 0x8d;
+    private static final int IF_ICMPEQ = 0x9f;
+    private static final int IRETURN = 0xac;
+    private static final int LRETURN = 0xad;
+    private static final int DRETURN = 0xaf;
+    private static final int ARETURN = 0xb0;
+    private static final int RETURN = 0xb1;
+    private static final int GETSTATIC = 0xb2;
+    private static final int PUTSTATIC = 0xb3;
+    private static final int GETFIELD = 0xb4;
+    private static final int PUTFIELD = 0xb5;
+    private static final int INVOKEVIRTUAL = 0xb6;
+    private static final int INVOKESPECIAL = 0xb7;
+    private static final int INVOKESTATIC = 0xb8;
+    private static final int INVOKEINTERFACE = 0xb9;
+    private static final int NEW = 0xbb;
+    private static final int ARRAYLENGTH = 0xbe;
+    private static final int ATHROW = 0xbf;
+    private static final int CHECKCAST = 0xc0;
+    private static final int BIPUSH = 0x10;
+    private static final int SIPUSH = 0x11;
+    private static final int LDC_W = 0x13;
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final Method PRIVATE_LOOKUP_IN;
+    private static final Method DEFINE_HIDDEN_CLASS;
+    private static final Object NESTMATE_OPTIONS;
+
+    static {
+        // 通过反射获取JDK 15的隐藏类API，保持Java 8的源码兼容
+        Method privateLookupIn = null;
+        Method defineHiddenClass = null;
+        Object options = null;
+        try {
+            Class<?> optionType = Class.forName("java.lang.invoke.MethodHandles$Lookup$ClassOption");
+            options = Array.newInstance(optionType, 1);
+            Array.set(options, 0, optionType.getField("NESTMATE").get(null));
+            privateLookupIn = MethodHandles.class.getMethod(
+                    "privateLookupIn", Class.class, MethodHandles.Lookup.class);
+            defineHiddenClass = MethodHandles.Lookup.class.getMethod(
+                    "defineHiddenClass", byte[].class, boolean.class, options.getClass());
+        } catch (ReflectiveOperationException exp) {
+            privateLookupIn = null;
+            defineHiddenClass = null;
+        }
+        PRIVATE_LOOKUP_IN = privateLookupIn;
+        DEFINE_HIDDEN_CLASS = defineHiddenClass;
+        NESTMATE_OPTIONS = options;
+    }
+
+    private AccessorGenerator() {
+
+    }
+
+    /**
+     * 判断访问器是否为生成的类
+     *
+     * @param accessor 访问器
+     * @return 是否为生成的类
+     */
+    static boolean isGenerated(Object accessor) {
+        return accessor.getClass().getName().contains(CLASS_SUFFIX);
+    }
+
+    /**
+     * 生成属性读取器，实现 (Object)valueType 形式的单方法接口
+     *
+     * @param field         属性
+     * @param valueType     返回值类型，引用类型统一为Object
+     * @param interfaceType 接口
+     * @param methodName    接口方法名称
+     * @return 读取器，无法生成时返回null
+     */
+    static Object getter(Field field, Class<?> valueType, Class<?> interfaceType, String methodName) {
+        Class<?> fieldType = field.getType();
+        if (!isSupported(field) || !isConvertible(fieldType, valueType)) {
+            return null;
+        }
+        ClassFile classFile = new ClassFile(field.getDeclaringClass(), interfaceType);
+        Code code = new Code();
+        String owner = internalName(field.getDeclaringClass());
+        if (Modifier.isStatic(field.getModifiers())) {
+            code.op(GETSTATIC).u2(classFile.fieldRef(owner, field.getName(), descriptor(fieldType)));
+        } else {
+            code.op(ALOAD_1).op(CHECKCAST).u2(classFile.classRef(owner));
+            code.op(GETFIELD).u2(classFile.fieldRef(owner, field.getName(), descriptor(fieldType)));
+        }
+        convert(classFile, code, fieldType, valueType);
+        code.op(returnOpcode(valueType));
+
+        String methodDescriptor = "(Ljava/lang/Object;)" + descriptor(valueType);
+        classFile.method(methodName, methodDescriptor, 4, 2, code, null);
+        return newInstance(field.getDeclaringClass(), classFile);
+    }
+
+    /**
+     * 生成属性写入器，实现 (Object, valueType)void 形式的单方法接口
+     *
+     * @param field         属性
+     * @param valueType     参数类型，引用类型统一为Object
+     * @param interfaceType 接口
+     * @return 写入器，无法生成时返回null
+     */
+    static Object setter(Field field, Class<?> valueType, Class<?> interfaceType) {
+        Class<?> fieldType = field.getType();
+        // final属性只能在所在类的构造过程中写入
+        if (!isSupported(field) || Modifier.isFinal(field.getModifiers())
+                || (valueType == Object.class ? fieldType.isPrimitive() : !isConvertible(valueType, fieldType))) {
+            return null;
+        }
+        ClassFile classFile = new ClassFile(field.getDeclaringClass(), interfaceType);
+        Code code = new Code();
+        String owner = internalName(field.getDeclaringClass());
+        boolean isStatic = Modifier.isStatic(field.getModifiers());
+        if (!isStatic) {
+            code.op(ALOAD_1).op(CHECKCAST).u2(classFile.classRef(owner));
+        }
+        code.op(loadOpcode(valueType));
+        if (valueType == Object.class) {
+            if (fieldType != Object.class) {
+                code.op(CHECKCAST).u2(classFile.classRef(internalName(fieldType)));
+            }
+        } else {
+            convert(classFile, code, valueType, fieldType);
+        }
+        code.op(isStatic ? PUTSTATIC : PUTFIELD).u2(classFile.fieldRef(owner, field.getName(), descriptor(fieldType)));
+        code.op(RETURN);
+
+        String methodDescriptor = "(Ljava/lang/Object;" + descriptor(valueType) + ")V";
+        classFile.method("accept", methodDescriptor, 6, 2 + slots(valueType), code, null);
+        return newInstance(field.getDeclaringClass(), classFile);
+    }
+
+    /**
+     * 生成方法调用器，检查参数个数，拆箱参数、装箱返回值，受检异常包装为UndeclaredThrowableException
+     *
+     * @param method 方法
+     * @return 调用器，无法生成时返回null
+     */
+    static Object invoker(Method method) {
+        Class<?> declaringClass = method.getDeclaringClass();
+        if (!isSupported(method) || !isNameable(method.getReturnType())) {
+            return null;
+        }
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            if (!isNameable(parameterType)) {
+                return null;
+            }
+        }
+        ClassFile classFile = new ClassFile(declaringClass, Invoker.class);
+        Code code = new Code();
+        Class<?>[] parameterTypes = method.getParameterTypes();
+
+        // if (args.length != n) throw new IllegalArgumentException(...)
+        code.op(ALOAD_2).op(ARRAYLENGTH);
+        pushInt(code, parameterTypes.length);
+        int branch = code.size();
+        code.op(IF_ICMPEQ).u2(14);
+        code.op(NEW).u2(classFile.classRef("java/lang/IllegalArgumentException")).op(DUP);
+        code.op(LDC_W).u2(classFile.string("参数个数不匹配，期望" + parameterTypes.length + "个：" + method));
+        code.op(INVOKESPECIAL).u2(classFile.methodRef("java/lang/IllegalArgumentException", "<init>",
+                "(Ljava/lang/String;)V", false));
+        code.op(ATHROW);
+        int start = code.size();
+        if (start != branch + 14) {
+            throw new IllegalStateException("字节码偏移错误");
+        }
+
+        String owner = internalName(declaringClass);
+        boolean isStatic = Modifier.isStatic(method.getModifiers());
+        boolean isInterface = declaringClass.isInterface();
+        if (!isStatic) {
+            code.op(ALOAD_1).op(CHECKCAST).u2(classFile.classRef(owner));
+        }
+        StringBuilder methodDescriptor = new StringBuilder("(");
+        int argumentSlots = 0;
+        for (int i = 0; i < parameterTypes.length; i++) {
+            code.op(ALOAD_2);
+            pushInt(code, i);
+            code.op(AALOAD);
+            unbox(classFile, code, parameterTypes[i]);
+            methodDescriptor.append(descriptor(parameterTypes[i]));
+            argumentSlots += slots(parameterTypes[i]);
+        }
+        methodDescriptor.append(')').append(descriptor(method.getReturnType()));
+        int methodRef = classFile.methodRef(owner, method.getName(), methodDescriptor.toString(), isInterface);
+        if (isStatic) {
+            code.op(INVOKESTATIC).u2(methodRef);
+        } else if (isInterface) {
+            code.op(INVOKEINTERFACE).u2(methodRef).u1(argumentSlots + 1).u1(0);
+        } else {
+            // 嵌套成员之间的私有方法同样通过invokevirtual调用
+            code.op(INVOKEVIRTUAL).u2(methodRef);
+        }
+        Class<?> returnType = method.getReturnType();
+        if (returnType == void.class) {
+            code.op(ACONST_NULL);
+        } else {
+            convert(classFile, code, returnType, Object.class);
+        }
+        code.op(ARETURN);
+        int end = code.size();
+
+        // 运行时异常原样抛出，受检异常包装为UndeclaredThrowableException，Error不捕获
+        int runtimeHandler = code.size();
+        code.op(ATHROW);
+        int checkedHandler = code.size();
+        code.op(NEW).u2(classFile.classRef("java/lang/reflect/UndeclaredThrowableException"));
+        code.op(DUP_X1).op(SWAP);
+        code.op(INVOKESPECIAL).u2(classFile.methodRef("java/lang/reflect/UndeclaredThrowableException", "<init>",
+                "(Ljava/lang/Throwable;)V", false));
+        code.op(ATHROW);
+        code.handler(start, end, runtimeHandler, classFile.classRef("java/lang/RuntimeException"));
+        code.handler(start, end, checkedHandler, classFile.classRef("java/lang/Exception"));
+
+        StackMap stackMap = new StackMap();
+        stackMap.sameFrame(start);
+        stackMap.stackItemFrame(runtimeHandler, classFile.classRef("java/lang/RuntimeException"));
+        stackMap.stackItemFrame(checkedHandler, classFile.classRef("java/lang/Exception"));
+
+        // 目标对象、已加载的参数以及加载下一个参数时的数组和下标
+        int maxStack = Math.max(3, argumentSlots + 3);
+        classFile.method("invoke", "(Ljava/lang/Object;[Ljava/lang/Object;)Ljava/lang/Object;",
+                maxStack, 3, code, stackMap);
+        return newInstance(declaringClass, classFile);
+    }
+
+    private static boolean isSupported(Member member) {
+        return DEFINE_HIDDEN_CLASS != null && isNameable(member.getDeclaringClass())
+                && (!(member instanceof Field) || isNameable(((Field) member).getType()));
+    }
+
+    /**
+     * 隐藏类不能在常量池中按名称引用
+     *
+     * @param type 类型
+     * @return 是否可以按名称引用
+     */
+    private static boolean isNameable(Class<?> type) {
+        return type.getName().indexOf('/') < 0;
+    }
+
+    /**
+     * 是否可以通过装箱或基本类型拓宽转换，与MethodHandle#asType的对应转换一致
+     *
+     * @param source 源类型
+     * @param target 目标类型
+     * @return 是否可以生成转换
+     */
+    private static boolean isConvertible(Class<?> source, Class<?> target) {
+        if (source == target) {
+            return true;
+        }
+        if (target == Object.class) {
+            return true;
+        }
+        return source.isPrimitive() && target.isPrimitive() && BeanCopier.isCompatible(source, target);
+    }
+
+    /**
+     * 生成从源类型到目标类型的转换，目标类型为Object时装箱
+     */
+    private static void convert(ClassFile classFile, Code code, Class<?> source, Class<?> target) {
+        if (source == target || !source.isPrimitive()) {
+            return;
+        }
+        if (target == Object.class) {
+            String wrapper = internalName(wrap(source));
+            code.op(INVOKESTATIC).u2(classFile.methodRef(wrapper, "valueOf",
+                    "(" + descriptor(source) + ")L" + wrapper + ";", false));
+            return;
+        }
+        boolean fromLong = source == long.class;
+        boolean fromFloat = source == float.class;
+        if (target == long.class) {
+            code.op(I2L);
+        } else if (target == float.class) {
+            code.op(fromLong ? L2F : I2F);
+        } else if (target == double.class) {
+            code.op(fromLong ? L2D : fromFloat ? F2D : I2D);
+        }
+        // 其余拓宽（byte、short、char -> int等）在字节码中都是int，无需转换
+    }
+
+    /**
+     * 将Object参数转换为方法参数类型，基本类型要求对应的包装类型
+     */
+    private static void unbox(ClassFile classFile, Code code, Class<?> type) {
+        if (type == Object.class) {
+            return;
+        }
+        if (!type.isPrimitive()) {
+            code.op(CHECKCAST).u2(classFile.classRef(internalName(type)));
+            return;
+        }
+        String wrapper = internalName(wrap(type));
+        code.op(CHECKCAST).u2(classFile.classRef(wrapper));
+        code.op(INVOKEVIRTUAL).u2(classFile.methodRef(wrapper, type.getName() + "Value",
+                "()" + descriptor(type), false));
+    }
+
+    private static void pushInt(Code code, int value) {
+        if (value <= 5) {
+            code.op(0x03 + value);
+        } else if (value <= Byte.MAX_VALUE) {
+            code.op(BIPUSH).u1(value);
+        } else {
+            code.op(SIPUSH).u2(value);
+        }
+    }
+
+    private static int loadOpcode(Class<?> type) {
+        if (type == long.class) {
+            return LLOAD_2;
+        }
+        if (type == double.class) {
+            return DLOAD_2;
+        }
+        return type.isPrimitive() ? ILOAD_2 : ALOAD_2;
+    }
+
+    private static int returnOpcode(Class<?> type) {
+        if (type == long.class) {
+            return LRETURN;
+        }
+        if (type == double.class) {
+            return DRETURN;
+        }
+        return type.isPrimitive() ? IRETURN : ARETURN;
+    }
+
+    private static int slots(Class<?> type) {
+        return type == long.class || type == double.class ? 2 : 1;
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        return Array.get(Array.newInstance(type, 1), 0).getClass();
+    }
+
+    private static String internalName(Class<?> type) {
+        return type.getName().replace('.', '/');
+    }
+
+    private static String descriptor(Class<?> type) {
+        if (type.isPrimitive()) {
+            if (type == void.class) {
+                return "V";
+            }
+            if (type == boolean.class) {
+                return "Z";
+            }
+            if (type == long.class) {
+                return "J";
+            }
+            return String.valueOf(Character.toUpperCase(type.getName().charAt(0)));
+        }
+        if (type.isArray()) {
+            return internalName(type);
+        }
+        return "L" + internalName(type) + ";";
+    }
+
+    /**
+     * 以成员所在类为嵌套宿主定义隐藏类并实例化
+     *
+     * @param host      成员所在类
+     * @param classFile 类文件
+     * @return 实例，无法定义时返回null
+     */
+    private static Object newInstance(Class<?> host, ClassFile classFile) {
+        try {
+            Object hostLookup = PRIVATE_LOOKUP_IN.invoke(null, host, LOOKUP);
+            Object hiddenLookup = DEFINE_HIDDEN_CLASS.invoke(hostLookup, classFile.toBytes(), true, NESTMATE_OPTIONS);
+            Class<?> hiddenClass = ((MethodHandles.Lookup) hiddenLookup).lookupClass();
+            return hiddenClass.getConstructor().newInstance();
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError exp) {
+            // 成员所在模块未开放等情况，退回MethodHandle实现
+            return null;
+        }
+    }
+
+    /**
+     * 方法字节码
+     */
+    private static final class Code {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final List<int[]> handlers = new ArrayList<>();
+
+        Code op(int opcode) {
+            bytes.write(opcode);
+            return this;
+        }
+
+        Code u1(int value) {
+            bytes.write(value);
+            return this;
+        }
+
+        Code u2(int value) {
+            bytes.write(value >>> 8);
+            bytes.write(value);
+            return this;
+        }
+
+        void handler(int start, int end, int handler, int catchType) {
+            handlers.add(new int[]{start, end, handler, catchType});
+        }
+
+        int size() {
+            return bytes.size();
+        }
+    }
+
+    /**
+     * 栈映射帧，只支持局部变量与方法入口一致的帧
+     */
+    private static final class StackMap {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private int count;
+        private int lastOffset = -1;
+
+        void sameFrame(int offset) {
+            int delta = offset - lastOffset - 1;
+            if (delta <= 63) {
+                bytes.write(delta);
+            } else {
+                bytes.write(251);
+                writeU2(delta);
+            }
+            next(offset);
+        }
+
+        void stackItemFrame(int offset, int classIndex) {
+            int delta = offset - lastOffset - 1;
+            if (delta <= 63) {
+                bytes.write(64 + delta);
+            } else {
+                bytes.write(247);
+                writeU2(delta);
+            }
+            // Object_variable_info
+            bytes.write(7);
+            writeU2(classIndex);
+            next(offset);
+        }
+
+        private void next(int offset) {
+            lastOffset = offset;
+            count++;
+        }
+
+        private void writeU2(int value) {
+            bytes.write(value >>> 8);
+            bytes.write(value);
+        }
+    }
+
+    /**
+     * 最小的类文件写入，只包含生成访问器所需的常量和结构
+     */
+    private static final class ClassFile {
+        private final ByteArrayOutputStream pool = new ByteArrayOutputStream();
+        private final DataOutputStream poolOut = new DataOutputStream(pool);
+        private final Map<String, Integer> constants = new HashMap<>();
+        private final ByteArrayOutputStream methods = new ByteArrayOutputStream();
+        private final DataOutputStream methodsOut = new DataOutputStream(methods);
+        private int constantCount = 1;
+        private int methodCount;
+        private final int thisClass;
+        private final int superClass;
+        private final int interfaceClass;
+
+        ClassFile(Class<?> host, Class<?> interfaceType) {
+            this.thisClass = classRef(internalName(host) + CLASS_SUFFIX);
+            this.superClass = classRef("java/lang/Object");
+            this.interfaceClass = classRef(internalName(interfaceType));
+
+            Code constructor = new Code();
+            constructor.op(ALOAD_0).op(INVOKESPECIAL).u2(methodRef("java/lang/Object", "<init>", "()V", false));
+            constructor.op(RETURN);
+            method("<init>", "()V", 1, 1, constructor, null);
+        }
+
+        int utf8(String value) {
+            return constant("U" + value, out -> {
+                out.writeByte(1);
+                out.writeUTF(value);
+            });
+        }
+
+        int string(String value) {
+            int utf8 = utf8(value);
+            return constant("S" + value, out -> {
+                out.writeByte(8);
+                out.writeShort(utf8);
+            });
+        }
+
+        int classRef(String internalName) {
+            int name = utf8(internalName);
+            return constant("C" + internalName, out -> {
+                out.writeByte(7);
+                out.writeShort(name);
+            });
+        }
+
+        int fieldRef(String owner, String name, String descriptor) {
+            return memberRef(9, owner, name, descriptor);
+        }
+
+        int methodRef(String owner, String name, String descriptor, boolean isInterface) {
+            return memberRef(isInterface ? 11 : 10, owner, name, descriptor);
+        }
+
+        private int memberRef(int tag, String owner, String name, String descriptor) {
+            int ownerIndex = classRef(owner);
+            int nameIndex = utf8(name);
+            int descriptorIndex = utf8(descriptor);
+            int nameAndType = constant("N" + name + ":" + descriptor, out -> {
+                out.writeByte(12);
+                out.writeShort(nameIndex);
+                out.writeShort(descriptorIndex);
+            });
+            return constant(tag + owner + "." + name + ":" + descriptor, out -> {
+                out.writeByte(tag);
+                out.writeShort(ownerIndex);
+                out.writeShort(nameAndType);
+            });
+        }
+
+        private int constant(String key, PoolWriter writer) {
+            Integer index = constants.get(key);
+            if (index != null) {
+                return index;
+            }
+            try {
+                writer.write(poolOut);
+            } catch (IOException exp) {
+                throw new IllegalStateException(exp);
+            }
+            constants.put(key, constantCount);
+            return constantCount++;
+        }
+
+        void method(String name, String descriptor, int maxStack, int maxLocals, Code code, StackMap stackMap) {
+            int nameIndex = utf8(name);
+            int descriptorIndex = utf8(descriptor);
+            int codeIndex = utf8("Code");
+            int stackMapIndex = stackMap == null ? 0 : utf8("StackMapTable");
+            byte[] codeBytes = code.bytes.toByteArray();
+            byte[] stackMapBytes = stackMap == null ? new byte[0] : stackMap.bytes.toByteArray();
+            try {
+                methodsOut.writeShort(ACC_PUBLIC);
+                methodsOut.writeShort(nameIndex);
+                methodsOut.writeShort(descriptorIndex);
+                methodsOut.writeShort(1);
+
+                int attributeLength = 2 + 2 + 4 + codeBytes.length + 2 + 8 * code.handlers.size() + 2
+                        + (stackMap == null ? 0 : 6 + 2 + stackMapBytes.length);
+                methodsOut.writeShort(codeIndex);
+                methodsOut.writeInt(attributeLength);
+                methodsOut.writeShort(maxStack);
+                methodsOut.writeShort(maxLocals);
+                methodsOut.writeInt(codeBytes.length);
+                methodsOut.write(codeBytes);
+                methodsOut.writeShort(code.handlers.size());
+                for (int[] handler : code.handlers) {
+                    for (int value : handler) {
+                        methodsOut.writeShort(value);
+                    }
+                }
+                if (stackMap == null) {
+                    methodsOut.writeShort(0);
+                } else {
+                    methodsOut.writeShort(1);
+                    methodsOut.writeShort(stackMapIndex);
+                    methodsOut.writeInt(2 + stackMapBytes.length);
+                    methodsOut.writeShort(stackMap.count);
+                    methodsOut.write(stackMapBytes);
+                }
+            } catch (IOException exp) {
+                throw new IllegalStateException(exp);
+            }
+            methodCount++;
+        }
+
+        byte[] toBytes() {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            try {
+                out.writeInt(0xCAFEBABE);
+                out.writeShort(0);
+                // Java 8类文件版本
+                out.writeShort(52);
+                out.writeShort(constantCount);
+                out.write(pool.toByteArray());
+                out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER | ACC_SYNTHETIC);
+                out.writeShort(thisClass);
+                out.writeShort(superClass);
+                out.writeShort(1);
+                out.writeShort(interfaceClass);
+                out.writeShort(0);
+                out.writeShort(methodCount);
+                out.write(methods.toByteArray());
+                out.writeShort(0);
+            } catch (IOException exp) {
+                throw new IllegalStateException(exp);
+            }
+            return bytes.toByteArray();
+        }
+    }
+
+    /**
+     * 常量池条目写入
+     */
+    @FunctionalInterface
+    private interface PoolWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,291 @@
+/**
+ *    Copyright 2021-2022 jinzhaosn
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.github.jinzhaosn.reflect;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * 属性、方法访问器
+ * 访问检查只在创建时进行一次，基本类型版本不产生装箱。
+ * 优先使用{@link AccessorGenerator}生成的直接访问类，JIT可以将其内联为普通的属性读写和方法调用；
+ * 无法生成时使用捕获MethodHandle的实现。
+ * 访问器按成员缓存，缓存挂在成员所在类上，不阻止类的卸载
+ *
+ * @auther 961374431@qq.com
+ * @date 2022年01月09日
+ */
+final class Accessors {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    /**
+     * 访问器缓存，按成员所在类保存，随类的卸载而释放
+     */
+    private static final ClassValue<Map<Kind, ConcurrentMap<Member, Object>>> CACHES =
+            new ClassValue<Map<Kind, ConcurrentMap<Member, Object>>>() {
+                @Override
+                protected Map<Kind, ConcurrentMap<Member, Object>> computeValue(Class<?> type) {
+                    Map<Kind, ConcurrentMap<Member, Object>> caches = new EnumMap<>(Kind.class);
+                    for (Kind kind : Kind.values()) {
+                        caches.put(kind, new ConcurrentHashMap<>());
+                    }
+                    return caches;
+                }
+            };
+
+    private Accessors() {
+
+    }
+
+    /**
+     * 访问器种类
+     */
+    private enum Kind {
+        GETTER, INT_GETTER, LONG_GETTER, DOUBLE_GETTER,
+        SETTER, INT_SETTER, LONG_SETTER, DOUBLE_SETTER,
+        INVOKER
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <A> A cached(Kind kind, Member member, Function<Member, Object> factory) {
+        return (A) CACHES.get(member.getDeclaringClass()).get(kind).computeIfAbsent(member, factory);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T, R> Function<T, R> getter(Field field) {
+        return cached(Kind.GETTER, field, member -> {
+            MethodHandle handle = getterHandle(field, Object.class);
+            Object generated = AccessorGenerator.getter(field, Object.class, Function.class, "apply");
+            return generated != null ? generated : (Function<T, R>) target -> {
+                try {
+                    Object value = handle.invokeExact((Object) target);
+                    return (R) value;
+                } catch (Throwable exp) {
+                    throw propagate(exp);
+                }
+            };
+        });
+    }
+
+    static <T> ToIntFunction<T> intGetter(Field field) {
+        return cached(Kind.INT_GETTER, field, member -> {
+            MethodHandle handle = getterHandle(field, int.class);
+            Object generated = AccessorGenerator.getter(field, int.class, ToIntFunction.class, "applyAsInt");
+            return generated != null ? generated : (ToIntFunction<T>) target -> {
+                try {
+                    return (int) handle.invokeExact((Object) target);
+                } catch (Throwable exp) {
+                    throw propagate(exp);
+                }
+            };
+        });
+    }
+
+    static <T> ToLongFunction<T> longGetter(Field field) {
+        return cached(Kind.LONG_GETTER, field, member -> {
+            MethodHandle handle = getterHandle(field, long.class);
+            Object generated = AccessorGenerator.getter(field, long.class, ToLongFunction.class, "applyAsLong");
+            return generated != null ? generated : (ToLongFunction<T>) target -> {
+                try {
+                    return (long) handle.invokeExact((Object) target);
+                } catch (Throwable exp) {
+                    throw propagate(exp);
+                }
+            };
+        });
+    }
+
+    static <T> ToDoubleFunction<T> doubleGetter(Field field) {
+        return cached(Kind.DOUBLE_GETTER, field, member -> {
+            MethodHandle handle = getterHandle(field, double.class);
+            Object generated = AccessorGenerator.getter(field, double.class, ToDoubleFunction.class, "applyAsDouble");
+            return generated != null ? generated : (ToDoubleFunction<T>) target -> {
+                try {
+                    return (double) handle.invokeExact((Object) target);
+                } catch (Throwable exp) {
+                    throw propagate(exp);
+                }
+            };
+        });
+    }
+
+    static <T, V> BiConsumer<T, V> setter(Field field) {
+        return cached(Kind.SETTER, field, member -> {
+            MethodHandle handle = setterHandle(field, Object.class);
+            Object generated = AccessorGenerator.setter(field, Object.class, BiConsumer.class);
+            return generated != null ? generated : (BiConsumer<T, V>) (target, value) -> {
+                try {
+                    handle.invokeExact((Object) target, (Object) value);
+                } catch (Throwable exp) {
+                    throw propagate(exp);
+                }
+            };
+        });
+    }
+
+    static <T> ObjIntConsumer<T> intSetter(Field field) {
+        return cached(Kind.INT_SETTER, field, member -> {
+            MethodHandle handle = setterHandle(field, int.class);
+            Object generated = AccessorGenerator.setter(field, int.class, ObjIntConsumer.class);
+            return generated != null ? generated : (ObjIntConsumer<T>) (target, value) -> {
+                try {
+                    handle.invokeExact((Object) target, value);
+                } catch (Throwable exp) {
+                    throw propagate(exp);
+                }
+            };
+        });
+    }
+
+    static <T> ObjLongConsumer<T> longSetter(Field field) {
+        return cached(Kind.LONG_SETTER, field, member -> {
+            MethodHandle handle = setterHandle(field, long.class);
+            Object generated = AccessorGenerator.setter(field, long.class, ObjLongConsumer.class);
+            return generated != null ? generated : (ObjLongConsumer<T>) (target, value) -> {
+                try {
+                    handle.invokeExact((Object) target, value);
+                } catch (Throwable exp) {
+                    throw propagate(exp);
+                }
+            };
+        });
+    }
+
+    static <T> ObjDoubleConsumer<T> doubleSetter(Field field) {
+        return cached(Kind.DOUBLE_SETTER, field, member -> {
+            MethodHandle handle = setterHandle(field, double.class);
+            Object generated = AccessorGenerator.setter(field, double.class, ObjDoubleConsumer.class);
+            return generated != null ? generated : (ObjDoubleConsumer<T>) (target, value) -> {
+                try {
+                    handle.invokeExact((Object) target, value);
+                } catch (Throwable exp) {
+                    throw propagate(exp);
+                }
+            };
+        });
+    }
+
+    static <T> Invoker<T> invoker(Method method) {
+        return cached(Kind.INVOKER, method, member -> {
+            MethodHandle handle;
+            try {
+                method.setAccessible(true);
+                handle = LOOKUP.unreflect(method).asFixedArity();
+            } catch (IllegalAccessException exp) {
+                throw new IllegalArgumentException("无法访问方法：" + method, exp);
+            }
+            if (Modifier.isStatic(method.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            MethodHandle spreader = handle
+                    .asSpreader(Object[].class, method.getParameterCount())
+                    .asType(MethodType.methodType(Object.class, Object.class, Object[].class));
+            Object generated = AccessorGenerator.invoker(method);
+            return generated != null ? generated : (Invoker<T>) (target, args) -> {
+                try {
+                    return spreader.invokeExact((Object) target, args);
+                } catch (Throwable exp) {
+                    throw propagate(exp);
+                }
+            };
+        });
+    }
+
+    /**
+     * 属性读取句柄，统一为 (Object)valueType 形式，静态属性忽略目标对象
+     *
+     * @param field     属性
+     * @param valueType 返回值类型
+     * @return 句柄
+     */
+    static MethodHandle getterHandle(Field field, Class<?> valueType) {
+        MethodHandle handle;
+        try {
+            field.setAccessible(true);
+            handle = LOOKUP.unreflectGetter(field);
+        } catch (IllegalAccessException exp) {
+            throw new IllegalArgumentException("无法访问属性：" + field, exp);
+        }
+        if (Modifier.isStatic(field.getModifiers())) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        return adapt(handle, MethodType.methodType(valueType, Object.class), field);
+    }
+
+    /**
+     * 属性写入句柄，统一为 (Object, valueType)void 形式，静态属性忽略目标对象
+     *
+     * @param field     属性
+     * @param valueType 参数类型
+     * @return 句柄
+     */
+    static MethodHandle setterHandle(Field field, Class<?> valueType) {
+        MethodHandle handle;
+        try {
+            field.setAccessible(true);
+            handle = LOOKUP.unreflectSetter(field);
+        } catch (IllegalAccessException exp) {
+            throw new IllegalArgumentException("无法写入属性：" + field, exp);
+        }
+        if (Modifier.isStatic(field.getModifiers())) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        return adapt(handle, MethodType.methodType(void.class, Object.class, valueType), field);
+    }
+
+    private static MethodHandle adapt(MethodHandle handle, MethodType type, Field field) {
+        try {
+            return handle.asType(type);
+        } catch (WrongMethodTypeException exp) {
+            throw new IllegalArgumentException("属性类型不匹配：" + field + "，期望" + type, exp);
+        }
+    }
+
+    /**
+     * 将句柄调用过程中的异常转换为非受检异常
+     *
+     * @param throwable 异常
+     * @return 非受检异常
+     */
+    static RuntimeException propagate(Throwable throwable) {
+        if (throwable instanceof RuntimeException) {
+            return (RuntimeException) throwable;
+        }
+        if (throwable instanceof Error) {
+            throw (Error) throwable;
+        }
+        return new UndeclaredThrowableException(throwable);
+    }
+}
@@ -0,0 +1,247 @@
+/**
+ *    Copyright 2021-2022 jinzhaosn
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.github.jinzhaosn.reflect;
+
+import com.google.common.primitives.Primitives;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 对象属性复制器
+ * 创建时按名称和类型匹配一次属性，并将所有属性的读写组合为一个MethodHandle，
+ * 复制时不再有反射查找和访问检查。
+ * 支持基本类型的拓宽转换（如int -> long）以及装箱、拆箱，包装类型为null时不会写入基本类型属性。
+ * 线程安全，通过{@link Reflect#copier(Class, Class)}获取
+ *
+ * @param <S> 源类型
+ * @param <T> 目标类型
+ * @auther 961374431@qq.com
+ * @date 2022年01月10日
+ */
+public final class BeanCopier<S, T> {
+    /**
+     * 复制器缓存，按源类型保存，随源类型的卸载而释放
+     */
+    private static final ClassValue<Map<NullHandling, ConcurrentMap<Class<?>, BeanCopier<?, ?>>>> CACHE =
+            new ClassValue<Map<NullHandling, ConcurrentMap<Class<?>, BeanCopier<?, ?>>>>() {
+                @Override
+                protected Map<NullHandling, ConcurrentMap<Class<?>, BeanCopier<?, ?>>> computeValue(Class<?> type) {
+                    Map<NullHandling, ConcurrentMap<Class<?>, BeanCopier<?, ?>>> caches =
+                            new EnumMap<>(NullHandling.class);
+                    for (NullHandling nullHandling : NullHandling.values()) {
+                        caches.put(nullHandling, new ConcurrentHashMap<>());
+                    }
+                    return caches;
+                }
+            };
+
+    private static final MethodType COPY_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodHandle NO_OP;
+    private static final MethodHandle IS_NULL;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            NO_OP = lookup.findStatic(BeanCopier.class, "noOp", COPY_TYPE);
+            IS_NULL = lookup.findStatic(Objects.class, "isNull",
+                    MethodType.methodType(boolean.class, Object.class));
+        } catch (NoSuchMethodException | IllegalAccessException exp) {
+            throw new ExceptionInInitializerError(exp);
+        }
+    }
+
+    /**
+     * 源属性为null时的处理方式
+     */
+    public enum NullHandling {
+        /**
+         * 将null写入目标属性
+         */
+        COPY,
+        /**
+         * 忽略null，保留目标属性原值
+         */
+        IGNORE
+    }
+
+    private final Class<S> sourceType;
+    private final Class<T> targetType;
+    private final List<String> properties;
+    private final MethodHandle copyHandle;
+
+    private BeanCopier(Class<S> sourceType, Class<T> targetType, NullHandling nullHandling) {
+        this.sourceType = sourceType;
+        this.targetType = targetType;
+
+        MemberIndex sourceIndex = Reflect.index(sourceType);
+        MemberIndex targetIndex = Reflect.index(targetType);
+        List<String> names = new ArrayList<>();
+        MethodHandle handle = NO_OP;
+        for (Field targetField : targetIndex.getFields()) {
+            // 被子类同名属性隐藏的属性不参与复制
+            if (!isInstanceField(targetField) || Modifier.isFinal(targetField.getModifiers())
+                    || targetIndex.getField(targetField.getName()) != targetField) {
+                continue;
+            }
+            Field sourceField = sourceIndex.getField(targetField.getName());
+            if (sourceField == null || !isInstanceField(sourceField)
+                    || !isCompatible(sourceField.getType(), targetField.getType())) {
+                continue;
+            }
+            // 依次执行：先执行已组合的复制，再执行当前属性的复制
+            handle = MethodHandles.foldArguments(copyHandle(sourceField, targetField, nullHandling), handle);
+            names.add(targetField.getName());
+        }
+        this.properties = Collections.unmodifiableList(names);
+        this.copyHandle = handle;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <S, T> BeanCopier<S, T> of(Class<S> sourceType, Class<T> targetType, NullHandling nullHandling) {
+        return (BeanCopier<S, T>) CACHE.get(sourceType).get(nullHandling)
+                .computeIfAbsent(targetType, key -> new BeanCopier<>(sourceType, targetType, nullHandling));
+    }
+
+    /**
+     * 将源对象的属性复制到目标对象
+     *
+     * @param source 源对象
+     * @param target 目标对象
+     * @return 目标对象
+     */
+    public T copy(S source, T target) {
+        try {
+            copyHandle.invokeExact((Object) target, (Object) source);
+        } catch (Throwable exp) {
+            throw Accessors.propagate(exp);
+        }
+        return target;
+    }
+
+    /**
+     * 参与复制的属性名称
+     *
+     * @return 属性名称列表（不可变）
+     */
+    public List<String> getProperties() {
+        return properties;
+    }
+
+    public Class<S> getSourceType() {
+        return sourceType;
+    }
+
+    public Class<T> getTargetType() {
+        return targetType;
+    }
+
+    /**
+     * 组合单个属性的复制句柄 (Object target, Object source)void
+     *
+     * @param sourceField  源属性
+     * @param targetField  目标属性
+     * @param nullHandling null处理方式
+     * @return 复制句柄
+     */
+    private static MethodHandle copyHandle(Field sourceField, Field targetField, NullHandling nullHandling) {
+        Class<?> valueType = sourceField.getType();
+        MethodHandle getter = Accessors.getterHandle(sourceField, valueType);
+        // 类型转换（拓宽、装箱、拆箱）由asType完成
+        MethodHandle setter = Accessors.setterHandle(targetField, targetField.getType())
+                .asType(MethodType.methodType(void.class, Object.class, valueType));
+
+        boolean skipNull = !valueType.isPrimitive()
+                && (nullHandling == NullHandling.IGNORE || targetField.getType().isPrimitive());
+        if (skipNull) {
+            MethodHandle isNull = MethodHandles.dropArguments(
+                    IS_NULL.asType(MethodType.methodType(boolean.class, valueType)), 0, Object.class);
+            MethodHandle noOp = NO_OP.asType(MethodType.methodType(void.class, Object.class, valueType));
+            setter = MethodHandles.guardWithTest(isNull, noOp, setter);
+        }
+        return MethodHandles.filterArguments(setter, 1, getter);
+    }
+
+    private static boolean isInstanceField(Field field) {
+        return !Modifier.isStatic(field.getModifiers());
+    }
+
+    /**
+     * 判断源类型的值是否可以赋给目标类型
+     *
+     * @param source 源类型
+     * @param target 目标类型
+     * @return 是否兼容
+     */
+    static boolean isCompatible(Class<?> source, Class<?> target) {
+        if (target.isAssignableFrom(source)) {
+            return true;
+        }
+        if (source.isPrimitive() && target.isPrimitive()) {
+            return isWidening(source, target);
+        }
+        if (source.isPrimitive()) {
+            return target.isAssignableFrom(Primitives.wrap(source));
+        }
+        if (target.isPrimitive() && Primitives.isWrapperType(source)) {
+            Class<?> unwrapped = Primitives.unwrap(source);
+            return unwrapped == target || isWidening(unwrapped, target);
+        }
+        return false;
+    }
+
+    /**
+     * 基本类型拓宽转换（JLS 5.1.2）
+     *
+     * @param source 源类型
+     * @param target 目标类型
+     * @return 是否可拓宽
+     */
+    private static boolean isWidening(Class<?> source, Class<?> target) {
+        if (source == byte.class) {
+            return target == short.class || target == int.class || target == long.class
+                    || target == float.class || target == double.class;
+        }
+        if (source == short.class || source == char.class) {
+            return target == int.class || target == long.class || target == float.class || target == double.class;
+        }
+        if (source == int.class) {
+            return target == long.class || target == float.class || target == double.class;
+        }
+        if (source == long.class) {
+            return target == float.class || target == double.class;
+        }
+        if (source == float.class) {
+            return target == double.class;
+        }
+        return false;
+    }
+
+    private static void noOp(Object target, Object source) {
+        // 空操作，用于组合复制句柄
+    }
+}
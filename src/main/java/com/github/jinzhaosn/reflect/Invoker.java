@@ -0,0 +1,35 @@
+/**
+ *    Copyright 2021-2022 jinzhaosn
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.github.jinzhaosn.reflect;
+
+/**
+ * 方法调用Function
+ *
+ * @param <T> 目标对象类型
+ * @auther 961374431@qq.com
+ * @date 2022年01月09日
+ */
+@FunctionalInterface
+public interface Invoker<T> {
+    /**
+     * 调用方法
+     *
+     * @param target 目标对象，静态方法时忽略
+     * @param args   方法参数
+     * @return 方法返回值，无返回值时为null
+     */
+    Object invoke(T target, Object... args);
+}
@@ -0,0 +1,249 @@
+/**
+ *    Copyright 2021-2022 jinzhaosn
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.github.jinzhaosn.reflect;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 类成员索引
+ * 将类继承树（自身、接口、父类）中的方法和属性展开为不可变的列表，
+ * 顺序与{@link Reflect#findMethod}的查找顺序一致，并提供按名称、签名的散列查找。
+ * 线程安全，通过{@link Reflect#index(Class)}获取，每个类只构建一次
+ *
+ * @auther 961374431@qq.com
+ * @date 2022年01月08日
+ */
+public final class MemberIndex {
+    private static final Class<?>[] NO_PARAMETERS = new Class<?>[0];
+
+    private final Class<?> type;
+    private final List<Method> methods;
+    private final List<Field> fields;
+    private final Map<String, List<Method>> methodsByName;
+    private final Map<Signature, Method> methodsBySignature;
+    private final Map<String, Field> fieldsByName;
+
+    MemberIndex(Class<?> type) {
+        this.type = type;
+
+        Set<Class<?>> hierarchy = new LinkedHashSet<>();
+        collectHierarchy(type, hierarchy);
+
+        List<Method> methodList = new ArrayList<>();
+        List<Field> fieldList = new ArrayList<>();
+        // getDeclaredFields每次返回新的副本，列表与名称索引需使用同一批实例
+        Map<Class<?>, Field[]> declaredFields = new HashMap<>();
+        for (Class<?> clazz : hierarchy) {
+            for (Method declaredMethod : clazz.getDeclaredMethods()) {
+                if (declaredMethod.isBridge() || declaredMethod.isSynthetic()) {
+                    continue;
+                }
+                methodList.add(declaredMethod);
+            }
+            Field[] declared = clazz.getDeclaredFields();
+            declaredFields.put(clazz, declared);
+            for (Field declaredField : declared) {
+                if (declaredField.isSynthetic()) {
+                    continue;
+                }
+                fieldList.add(declaredField);
+            }
+        }
+
+        // 按名称查找与findField原有行为一致：只沿父类链查找，子类优先，保留编译器生成的属性（如内部类的this$0）
+        Map<String, Field> fieldMap = new HashMap<>();
+        for (Class<?> clazz = type; clazz != null; clazz = clazz.getSuperclass()) {
+            for (Field declaredField : declaredFields.get(clazz)) {
+                fieldMap.putIfAbsent(declaredField.getName(), declaredField);
+            }
+        }
+        // 父类链中不存在时，再按继承树顺序查找接口常量
+        for (Class<?> clazz : hierarchy) {
+            if (clazz.isInterface()) {
+                for (Field declaredField : declaredFields.get(clazz)) {
+                    fieldMap.putIfAbsent(declaredField.getName(), declaredField);
+                }
+            }
+        }
+
+        Map<String, List<Method>> byName = new HashMap<>();
+        Map<Signature, Method> bySignature = new HashMap<>();
+        for (Method method : methodList) {
+            byName.computeIfAbsent(method.getName(), name -> new ArrayList<>()).add(method);
+            // 与findMethod一致，先出现的方法优先
+            bySignature.putIfAbsent(new Signature(method.getName(), method.getParameterTypes()), method);
+        }
+        byName.replaceAll((name, list) -> Collections.unmodifiableList(list));
+
+        this.methods = Collections.unmodifiableList(methodList);
+        this.fields = Collections.unmodifiableList(fieldList);
+        this.methodsByName = byName;
+        this.methodsBySignature = bySignature;
+        this.fieldsByName = fieldMap;
+    }
+
+    /**
+     * 按照 自身 -> 接口（递归） -> 父类（递归） 的顺序收集继承树，已访问的类不再重复收集
+     *
+     * @param clazz     当前类
+     * @param hierarchy 继承树
+     */
+    private static void collectHierarchy(Class<?> clazz, Set<Class<?>> hierarchy) {
+        if (clazz == null || !hierarchy.add(clazz)) {
+            return;
+        }
+        for (Class<?> clazzInterface : clazz.getInterfaces()) {
+            collectHierarchy(clazzInterface, hierarchy);
+        }
+        collectHierarchy(clazz.getSuperclass(), hierarchy);
+    }
+
+    /**
+     * 被索引的类
+     *
+     * @return 类
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * 继承树中所有非编译器生成的方法
+     *
+     * @return 方法列表（不可变）
+     */
+    public List<Method> getMethods() {
+        return methods;
+    }
+
+    /**
+     * 继承树中所有非编译器生成的属性
+     *
+     * @return 属性列表（不可变）
+     */
+    public List<Field> getFields() {
+        return fields;
+    }
+
+    /**
+     * 指定名称的所有方法（包含重载及被覆盖的方法）
+     *
+     * @param methodName 方法名称
+     * @return 方法列表（不可变），不存在时为空列表
+     */
+    public List<Method> getMethods(String methodName) {
+        return methodsByName.getOrDefault(methodName, Collections.emptyList());
+    }
+
+    /**
+     * 按名称和参数查找方法，语义与{@link Reflect#findMethod}一致
+     *
+     * @param methodName     方法名称
+     * @param parameterTypes 方法参数
+     * @return 目标方法，不存在时返回null
+     */
+    public Method getMethod(String methodName, Class<?>... parameterTypes) {
+        if (methodName == null) {
+            return null;
+        }
+        return methodsBySignature.get(
+                new Signature(methodName, parameterTypes == null ? NO_PARAMETERS : parameterTypes));
+    }
+
+    /**
+     * 按名称查找属性，先沿父类链查找（子类属性优先），不存在时再查找接口常量，包含编译器生成的属性
+     *
+     * @param fieldName 属性名称
+     * @return 目标属性，不存在时返回null
+     */
+    public Field getField(String fieldName) {
+        return fieldsByName.get(fieldName);
+    }
+
+    /**
+     * 被指定注解标注的方法
+     *
+     * @param annotationType 注解类型
+     * @return 方法列表（不可变）
+     */
+    public List<Method> getMethodsWithAnnotation(Class<? extends Annotation> annotationType) {
+        return filterAnnotated(methods, annotationType);
+    }
+
+    /**
+     * 被指定注解标注的属性
+     *
+     * @param annotationType 注解类型
+     * @return 属性列表（不可变）
+     */
+    public List<Field> getFieldsWithAnnotation(Class<? extends Annotation> annotationType) {
+        return filterAnnotated(fields, annotationType);
+    }
+
+    private static <E extends AnnotatedElement> List<E> filterAnnotated(
+            List<E> elements, Class<? extends Annotation> annotationType) {
+        List<E> result = new ArrayList<>();
+        for (E element : elements) {
+            if (element.isAnnotationPresent(annotationType)) {
+                result.add(element);
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * 方法签名，用于散列查找
+     */
+    private static final class Signature {
+        private final String name;
+        private final Class<?>[] parameterTypes;
+        private final int hash;
+
+        Signature(String name, Class<?>[] parameterTypes) {
+            this.name = name;
+            this.parameterTypes = parameterTypes;
+            this.hash = 31 * name.hashCode() + Arrays.hashCode(parameterTypes);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Signature)) {
+                return false;
+            }
+            Signature other = (Signature) obj;
+            return name.equals(other.name) && Arrays.equals(parameterTypes, other.parameterTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -17,7 +17,16 @@ package com.github.jinzhaosn.reflect;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.util.Arrays;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+import static com.github.jinzhaosn.util.CheckUtil.checkArgument;
 
 /**
  * 映射工具类
@@ -30,8 +39,29 @@ public class Reflect {
 
     }
 
+    /**
+     * 类成员索引缓存，随类的卸载而释放
+     */
+    private static final ClassValue<MemberIndex> INDEXES = new ClassValue<MemberIndex>() {
+        @Override
+        protected MemberIndex computeValue(Class<?> type) {
+            return new MemberIndex(type);
+        }
+    };
+
+    /**
+     * 获取类的成员索引，首次访问时构建，之后直接复用
+     *
+     * @param clazz 被索引的类
+     * @return 成员索引
+     */
+    public static MemberIndex index(Class<?> clazz) {
+        return INDEXES.get(clazz);
+    }
+
     /**
      * 在类的继承树中寻找指定名称和参数的方法（除去编译器生成的方法）
+     * 查找顺序：自身 -> 接口 -> 父类
      *
      * @param clazz          被查找的类
      * @param methodName     方法名称
@@ -42,53 +72,260 @@ public class Reflect {
         if (clazz == null) {
             return null;
         }
-
-        for (Method declaredMethod : clazz.getDeclaredMethods()) {
-            if (declaredMethod.isBridge() || declaredMethod.isSynthetic()) {
-                continue;
-            }
-            if (!declaredMethod.getName().equals(methodName)) {
-                continue;
-            }
-
-            Class<?>[] declaredMethodParamTypes = declaredMethod.getParameterTypes();
-            if ((parameterTypes == null && declaredMethodParamTypes.length > 0)
-                    || (parameterTypes != null && !Arrays.equals(parameterTypes, declaredMethodParamTypes))) {
-                continue;
-            }
-
-            return declaredMethod;
-        }
-
-        // 在接口中寻找
-        for (Class<?> clazzInterface : clazz.getInterfaces()) {
-            Method method = findMethod(clazzInterface, methodName, parameterTypes);
-            if (method != null) {
-                return method;
-            }
-        }
-
-        // 在父类中寻找
-        return findMethod(clazz.getSuperclass(), methodName, parameterTypes);
+        return index(clazz).getMethod(methodName, parameterTypes);
     }
 
     /**
-     * 寻找类的属性
+     * 寻找类的属性，沿父类链查找，子类属性优先；父类链中不存在时再查找接口常量
      *
      * @param clazz     被寻找的类
      * @param fieldName 属性名称
      * @return 目标属性
      */
     public static Field findField(Class<?> clazz, String fieldName) {
-        while (clazz != null) {
-            for (Field declaredField : clazz.getDeclaredFields()) {
-                if (declaredField.getName().equals(fieldName)) {
-                    return declaredField;
-                }
-            }
-            clazz = clazz.getSuperclass();
+        if (clazz == null) {
+            return null;
         }
+        return index(clazz).getField(fieldName);
+    }
+
+    /**
+     * 获取属性读取器，类型不匹配时抛出IllegalArgumentException
+     *
+     * @param clazz     属性所在类
+     * @param fieldName 属性名称
+     * @param <T>       对象类型
+     * @param <R>       属性类型
+     * @return 读取器
+     */
+    public static <T, R> Function<T, R> getter(Class<T> clazz, String fieldName) {
+        return getter(requireField(clazz, fieldName));
+    }
+
+    /**
+     * 获取属性读取器
+     *
+     * @param field 属性
+     * @param <T>   对象类型
+     * @param <R>   属性类型
+     * @return 读取器
+     */
+    public static <T, R> Function<T, R> getter(Field field) {
+        return Accessors.getter(field);
+    }
+
+    /**
+     * 获取int属性读取器，支持byte、short、char、int属性
+     *
+     * @param clazz     属性所在类
+     * @param fieldName 属性名称
+     * @param <T>       对象类型
+     * @return 读取器
+     */
+    public static <T> ToIntFunction<T> intGetter(Class<T> clazz, String fieldName) {
+        return intGetter(requireField(clazz, fieldName));
+    }
+
+    /**
+     * 获取int属性读取器，支持byte、short、char、int属性
+     *
+     * @param field 属性
+     * @param <T>   对象类型
+     * @return 读取器
+     */
+    public static <T> ToIntFunction<T> intGetter(Field field) {
+        return Accessors.intGetter(field);
+    }
+
+    /**
+     * 获取long属性读取器，支持整数类型属性
+     *
+     * @param clazz     属性所在类
+     * @param fieldName 属性名称
+     * @param <T>       对象类型
+     * @return 读取器
+     */
+    public static <T> ToLongFunction<T> longGetter(Class<T> clazz, String fieldName) {
+        return longGetter(requireField(clazz, fieldName));
+    }
+
+    /**
+     * 获取long属性读取器，支持整数类型属性
+     *
+     * @param field 属性
+     * @param <T>   对象类型
+     * @return 读取器
+     */
+    public static <T> ToLongFunction<T> longGetter(Field field) {
+        return Accessors.longGetter(field);
+    }
+
+    /**
+     * 获取double属性读取器，支持数值类型属性
+     *
+     * @param clazz     属性所在类
+     * @param fieldName 属性名称
+     * @param <T>       对象类型
+     * @return 读取器
+     */
+    public static <T> ToDoubleFunction<T> doubleGetter(Class<T> clazz, String fieldName) {
+        return doubleGetter(requireField(clazz, fieldName));
+    }
+
+    /**
+     * 获取double属性读取器，支持数值类型属性
+     *
+     * @param field 属性
+     * @param <T>   对象类型
+     * @return 读取器
+     */
+    public static <T> ToDoubleFunction<T> doubleGetter(Field field) {
+        return Accessors.doubleGetter(field);
+    }
+
+    /**
+     * 获取属性写入器
+     *
+     * @param clazz     属性所在类
+     * @param fieldName 属性名称
+     * @param <T>       对象类型
+     * @param <V>       属性类型
+     * @return 写入器
+     */
+    public static <T, V> BiConsumer<T, V> setter(Class<T> clazz, String fieldName) {
+        return setter(requireField(clazz, fieldName));
+    }
+
+    /**
+     * 获取属性写入器
+     *
+     * @param field 属性
+     * @param <T>   对象类型
+     * @param <V>   属性类型
+     * @return 写入器
+     */
+    public static <T, V> BiConsumer<T, V> setter(Field field) {
+        return Accessors.setter(field);
+    }
+
+    /**
+     * 获取int属性写入器，支持int、long、float、double属性
+     *
+     * @param clazz     属性所在类
+     * @param fieldName 属性名称
+     * @param <T>       对象类型
+     * @return 写入器
+     */
+    public static <T> ObjIntConsumer<T> intSetter(Class<T> clazz, String fieldName) {
+        return intSetter(requireField(clazz, fieldName));
+    }
+
+    /**
+     * 获取int属性写入器，支持int、long、float、double属性
+     *
+     * @param field 属性
+     * @param <T>   对象类型
+     * @return 写入器
+     */
+    public static <T> ObjIntConsumer<T> intSetter(Field field) {
+        return Accessors.intSetter(field);
+    }
+
+    /**
+     * 获取long属性写入器，支持long、float、double属性
+     *
+     * @param clazz     属性所在类
+     * @param fieldName 属性名称
+     * @param <T>       对象类型
+     * @return 写入器
+     */
+    public static <T> ObjLongConsumer<T> longSetter(Class<T> clazz, String fieldName) {
+        return longSetter(requireField(clazz, fieldName));
+    }
+
+    /**
+     * 获取long属性写入器，支持long、float、double属性
+     *
+     * @param field 属性
+     * @param <T>   对象类型
+     * @return 写入器
+     */
+    public static <T> ObjLongConsumer<T> longSetter(Field field) {
+        return Accessors.longSetter(field);
+    }
+
+    /**
+     * 获取double属性写入器
+     *
+     * @param clazz     属性所在类
+     * @param fieldName 属性名称
+     * @param <T>       对象类型
+     * @return 写入器
+     */
+    public static <T> ObjDoubleConsumer<T> doubleSetter(Class<T> clazz, String fieldName) {
+        return doubleSetter(requireField(clazz, fieldName));
+    }
+
+    /**
+     * 获取double属性写入器
+     *
+     * @param field 属性
+     * @param <T>   对象类型
+     * @return 写入器
+     */
+    public static <T> ObjDoubleConsumer<T> doubleSetter(Field field) {
+        return Accessors.doubleSetter(field);
+    }
+
+    /**
+     * 获取方法调用器
+     *
+     * @param clazz          方法所在类
+     * @param methodName     方法名称
+     * @param parameterTypes 方法参数
+     * @param <T>            对象类型
+     * @return 调用器
+     */
+    public static <T> Invoker<T> invoker(Class<T> clazz, String methodName, Class<?>... parameterTypes) {
+        Method method = findMethod(clazz, methodName, parameterTypes);
+        checkArgument(method != null, "方法不存在：%s", methodName);
+        return Accessors.invoker(method);
+    }
+
+    /**
+     * 获取属性复制器，源属性为null时写入null
+     *
+     * @param sourceType 源类型
+     * @param targetType 目标类型
+     * @param <S>        源类型
+     * @param <T>        目标类型
+     * @return 复制器
+     */
+    public static <S, T> BeanCopier<S, T> copier(Class<S> sourceType, Class<T> targetType) {
+        return copier(sourceType, targetType, BeanCopier.NullHandling.COPY);
+    }
+
+    /**
+     * 获取属性复制器
+     *
+     * @param sourceType   源类型
+     * @param targetType   目标类型
+     * @param nullHandling 源属性为null时的处理方式
+     * @param <S>          源类型
+     * @param <T>          目标类型
+     * @return 复制器
+     */
+    public static <S, T> BeanCopier<S, T> copier(
+            Class<S> sourceType, Class<T> targetType, BeanCopier.NullHandling nullHandling) {
+        checkArgument(sourceType != null, "源类型不能为null");
+        checkArgument(targetType != null, "目标类型不能为null");
+        checkArgument(nullHandling != null, "null处理方式不能为null");
+        return BeanCopier.of(sourceType, targetType, nullHandling);
+    }
 
-        return null;
+    private static Field requireField(Class<?> clazz, String fieldName) {
+        Field field = findField(clazz, fieldName);
+        checkArgument(field != null, "属性不存在：%s", fieldName);
+        return field;
     }
 }
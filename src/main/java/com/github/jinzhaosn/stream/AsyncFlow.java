@@ -0,0 +1,265 @@
+/**
+ *    Copyright 2021-2022 jinzhaosn
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.github.jinzhaosn.stream;
+
+import com.github.jinzhaosn.function.VoidConsumer;
+import com.github.jinzhaosn.function.VoidPredicate;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+import static com.github.jinzhaosn.util.CheckUtil.checkArgument;
+
+/**
+ * 异步条件流处理
+ * 与{@link Flow}用法一致，条件和分支在指定线程池中执行，结果以CompletableFuture返回，整个过程不阻塞调用线程。
+ * 已有分支命中后，后续条件不再执行。
+ * xxxAsync方法接收返回CompletionStage的函数，用于串联I/O等异步操作，这些函数本身不应阻塞。
+ * 在支持虚拟线程的运行时上，可以传入Executors.newVirtualThreadPerTaskExecutor()
+ *
+ *  使用例子：
+ *  CompletableFuture<Optional<Object>> result = AsyncFlow.choose(executor)
+ *      .whenAsync(() -> cache.containsAsync(key)).thenAsync(() -> cache.getAsync(key))
+ *      .elseWhen(() -> remote.isAvailable()).then(() -> remote.load(key))
+ *      .otherwise(() -> defaultValue).getResult();
+ *
+ * @auther 961374431@qq.com
+ * @date 2022年01月22日
+ */
+public class AsyncFlow {
+    private final Executor executor;
+
+    private AsyncFlow(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * 在公共fork/join线程池中执行的异步条件流
+     *
+     * @return 异步条件流
+     */
+    public static AsyncFlow choose() {
+        return new AsyncFlow(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 在指定线程池中执行的异步条件流
+     *
+     * @param executor 线程池
+     * @return 异步条件流
+     */
+    public static AsyncFlow choose(Executor executor) {
+        checkArgument(executor != null, "线程池不能为null");
+        return new AsyncFlow(executor);
+    }
+
+    public Condition when(boolean expression) {
+        return new ConditionImpl(executor, Branch.UNMATCHED_FUTURE, condition(expression));
+    }
+
+    public Condition when(VoidPredicate predicate) {
+        return new ConditionImpl(executor, Branch.UNMATCHED_FUTURE, condition(predicate, executor));
+    }
+
+    public Condition whenAsync(Supplier<? extends CompletionStage<Boolean>> predicate) {
+        return new ConditionImpl(executor, Branch.UNMATCHED_FUTURE, predicate);
+    }
+
+    private static Supplier<CompletionStage<Boolean>> condition(boolean expression) {
+        CompletableFuture<Boolean> result = CompletableFuture.completedFuture(expression);
+        return () -> result;
+    }
+
+    private static Supplier<CompletionStage<Boolean>> condition(VoidPredicate predicate, Executor executor) {
+        return () -> CompletableFuture.supplyAsync(predicate::test, executor);
+    }
+
+    private static Supplier<CompletionStage<?>> branch(VoidConsumer consumer, Executor executor) {
+        return () -> CompletableFuture.runAsync(consumer::accept, executor);
+    }
+
+    private static Supplier<CompletionStage<?>> branch(Supplier<?> supplier, Executor executor) {
+        return () -> CompletableFuture.supplyAsync(supplier, executor);
+    }
+
+    /**
+     * 在未命中时执行分支，分支在线程池中启动，不占用调用方或前一阶段的完成线程
+     *
+     * @param previous 之前的分支结果
+     * @param body     分支
+     * @param executor 线程池
+     * @return 当前分支结果
+     */
+    private static CompletableFuture<Branch> runBranch(CompletableFuture<Branch> previous,
+                                                       Supplier<? extends CompletionStage<?>> body,
+                                                       Executor executor) {
+        return previous.thenComposeAsync(branch -> branch.matched
+                ? CompletableFuture.completedFuture(branch)
+                : body.get().thenApply(Branch::matched), executor);
+    }
+
+    public interface Condition {
+        FollowFlow then(VoidConsumer consumer);
+
+        FollowFlow then(Supplier<?> supplier);
+
+        FollowFlow thenAsync(Supplier<? extends CompletionStage<?>> supplier);
+    }
+
+    /**
+     * 条件对象
+     */
+    private static class ConditionImpl implements Condition {
+        private final Executor executor;
+        private final CompletableFuture<Branch> previous;
+        private final Supplier<? extends CompletionStage<Boolean>> predicate;
+
+        public ConditionImpl(Executor executor, CompletableFuture<Branch> previous,
+                             Supplier<? extends CompletionStage<Boolean>> predicate) {
+            this.executor = executor;
+            this.previous = previous;
+            this.predicate = predicate;
+        }
+
+        public FollowFlow then(VoidConsumer consumer) {
+            return thenAsync(branch(consumer, executor));
+        }
+
+        public FollowFlow then(Supplier<?> supplier) {
+            return thenAsync(branch(supplier, executor));
+        }
+
+        public FollowFlow thenAsync(Supplier<? extends CompletionStage<?>> supplier) {
+            // 已命中时不再执行条件，条件和分支都在线程池中启动
+            CompletableFuture<Branch> current = previous.thenComposeAsync(branch -> branch.matched
+                    ? CompletableFuture.completedFuture(branch)
+                    : predicate.get().thenComposeAsync(checked -> checked
+                    ? supplier.get().thenApply(Branch::matched)
+                    : Branch.UNMATCHED_FUTURE, executor), executor);
+            return new FollowFlowImpl(executor, current);
+        }
+    }
+
+    /**
+     * 条件流流程节点
+     */
+    public interface FollowFlow extends FlowResult {
+        Condition elseWhen(boolean expression);
+
+        Condition elseWhen(VoidPredicate predicate);
+
+        Condition elseWhenAsync(Supplier<? extends CompletionStage<Boolean>> predicate);
+
+        FlowResult otherwise(VoidConsumer consumer);
+
+        FlowResult otherwise(Supplier<?> supplier);
+
+        FlowResult otherwiseAsync(Supplier<? extends CompletionStage<?>> supplier);
+    }
+
+    private static class FollowFlowImpl implements FollowFlow {
+        private final Executor executor;
+        private final CompletableFuture<Branch> current;
+
+        public FollowFlowImpl(Executor executor, CompletableFuture<Branch> current) {
+            this.executor = executor;
+            this.current = current;
+        }
+
+        public Condition elseWhen(boolean expression) {
+            return new ConditionImpl(executor, current, condition(expression));
+        }
+
+        public Condition elseWhen(VoidPredicate predicate) {
+            return new ConditionImpl(executor, current, condition(predicate, executor));
+        }
+
+        public Condition elseWhenAsync(Supplier<? extends CompletionStage<Boolean>> predicate) {
+            return new ConditionImpl(executor, current, predicate);
+        }
+
+        public FlowResult otherwise(VoidConsumer consumer) {
+            return otherwiseAsync(branch(consumer, executor));
+        }
+
+        public FlowResult otherwise(Supplier<?> supplier) {
+            return otherwiseAsync(branch(supplier, executor));
+        }
+
+        public FlowResult otherwiseAsync(Supplier<? extends CompletionStage<?>> supplier) {
+            return new FlowResultImpl(runBranch(current, supplier, executor));
+        }
+
+        public CompletableFuture<Optional<Object>> getResult() {
+            return current.thenApply(branch -> branch.result);
+        }
+
+        public <T> CompletableFuture<Optional<T>> getResult(Class<T> clazz) {
+            return current.thenApply(branch -> branch.result.map(clazz::cast));
+        }
+    }
+
+    /**
+     * 条件流结果
+     */
+    public interface FlowResult {
+        CompletableFuture<Optional<Object>> getResult();
+
+        <T> CompletableFuture<Optional<T>> getResult(Class<T> clazz);
+    }
+
+    private static class FlowResultImpl implements FlowResult {
+        private final CompletableFuture<Branch> result;
+
+        public FlowResultImpl(CompletableFuture<Branch> result) {
+            this.result = result;
+        }
+
+        @Override
+        public CompletableFuture<Optional<Object>> getResult() {
+            return result.thenApply(branch -> branch.result);
+        }
+
+        @Override
+        public <T> CompletableFuture<Optional<T>> getResult(Class<T> clazz) {
+            return result.thenApply(branch -> branch.result.map(clazz::cast));
+        }
+    }
+
+    /**
+     * 分支执行结果
+     */
+    private static final class Branch {
+        private static final CompletableFuture<Branch> UNMATCHED_FUTURE =
+                CompletableFuture.completedFuture(new Branch(false, Optional.empty()));
+
+        private final boolean matched;
+        private final Optional<Object> result;
+
+        private Branch(boolean matched, Optional<Object> result) {
+            this.matched = matched;
+            this.result = result;
+        }
+
+        static Branch matched(Object result) {
+            return new Branch(true, Optional.ofNullable(result));
+        }
+    }
+}
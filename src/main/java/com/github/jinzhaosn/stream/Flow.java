@@ -19,6 +19,7 @@ import com.github.jinzhaosn.function.VoidConsumer;
 import com.github.jinzhaosn.function.VoidPredicate;
 
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 
 /**
@@ -41,6 +42,16 @@ public class Flow {
         return new Flow();
     }
 
+    /**
+     * 异步条件流，条件和分支在指定线程池中执行
+     *
+     * @param executor 线程池
+     * @return 异步条件流
+     */
+    public static AsyncFlow chooseAsync(Executor executor) {
+        return AsyncFlow.choose(executor);
+    }
+
     public Condition when(boolean expression) {
         return new ConditionImpl(expression);
     }
@@ -78,6 +78,78 @@ public class CheckUtil {
         return data;
     }
 
+    /**
+     * 检查是否满足条件，在满足条件时返回自身，否则抛出异常
+     * 异常消息只在检查失败时格式化，固定参数个数，检查通过时不分配参数数组
+     *
+     * @param data      被检查对象
+     * @param predicate 检查条件
+     * @param template  异常消息模板，格式同{@link String#format}
+     * @param p1        消息参数
+     * @param <T>       类型
+     * @return 在条件满足时返回数据
+     */
+    public static <T> T checkThrow(T data, Predicate<T> predicate, String template, Object p1) {
+        if (!predicate.test(data)) {
+            throw new VerifyException(String.format(template, p1));
+        }
+        return data;
+    }
+
+    /**
+     * 检查是否满足条件，在满足条件时返回自身，否则抛出异常
+     * 异常消息只在检查失败时格式化，固定参数个数，检查通过时不分配参数数组
+     *
+     * @param data      被检查对象
+     * @param predicate 检查条件
+     * @param template  异常消息模板，格式同{@link String#format}
+     * @param p1        消息参数1
+     * @param p2        消息参数2
+     * @param <T>       类型
+     * @return 在条件满足时返回数据
+     */
+    public static <T> T checkThrow(T data, Predicate<T> predicate, String template, Object p1, Object p2) {
+        if (!predicate.test(data)) {
+            throw new VerifyException(String.format(template, p1, p2));
+        }
+        return data;
+    }
+
+    /**
+     * 检查是否满足条件，在满足条件时返回自身，否则抛出异常
+     * 异常消息只在检查失败时格式化
+     *
+     * @param data      被检查对象
+     * @param predicate 检查条件
+     * @param template  异常消息模板，格式同{@link String#format}
+     * @param args      消息参数
+     * @param <T>       类型
+     * @return 在条件满足时返回数据
+     */
+    public static <T> T checkThrow(T data, Predicate<T> predicate, String template, Object... args) {
+        if (!predicate.test(data)) {
+            throw new VerifyException(format(template, args));
+        }
+        return data;
+    }
+
+    /**
+     * 检查是否满足条件，在满足条件时返回自身，否则抛出异常
+     * 异常消息只在检查失败时获取
+     *
+     * @param data            被检查对象
+     * @param predicate       检查条件
+     * @param messageSupplier 异常消息提供
+     * @param <T>             类型
+     * @return 在条件满足时返回数据
+     */
+    public static <T> T checkThrow(T data, Predicate<T> predicate, Supplier<String> messageSupplier) {
+        if (!predicate.test(data)) {
+            throw new VerifyException(messageSupplier.get());
+        }
+        return data;
+    }
+
     /**
      * 检查是否为真
      *
@@ -90,6 +162,60 @@ public class CheckUtil {
         }
     }
 
+    /**
+     * 检查是否为真
+     * 固定参数个数，检查通过时不分配参数数组
+     *
+     * @param checked  是否为真
+     * @param template 不为真异常消息模板，格式同{@link String#format}
+     * @param p1       消息参数
+     */
+    public static void checkTrue(boolean checked, String template, Object p1) {
+        if (!checked) {
+            throw new VerifyException(String.format(template, p1));
+        }
+    }
+
+    /**
+     * 检查是否为真
+     * 固定参数个数，检查通过时不分配参数数组
+     *
+     * @param checked  是否为真
+     * @param template 不为真异常消息模板，格式同{@link String#format}
+     * @param p1       消息参数1
+     * @param p2       消息参数2
+     */
+    public static void checkTrue(boolean checked, String template, Object p1, Object p2) {
+        if (!checked) {
+            throw new VerifyException(String.format(template, p1, p2));
+        }
+    }
+
+    /**
+     * 检查是否为真
+     *
+     * @param checked  是否为真
+     * @param template 不为真异常消息模板，格式同{@link String#format}
+     * @param args     消息参数
+     */
+    public static void checkTrue(boolean checked, String template, Object... args) {
+        if (!checked) {
+            throw new VerifyException(format(template, args));
+        }
+    }
+
+    /**
+     * 检查是否为真
+     *
+     * @param checked         是否为真
+     * @param messageSupplier 不为真异常消息提供
+     */
+    public static void checkTrue(boolean checked, Supplier<String> messageSupplier) {
+        if (!checked) {
+            throw new VerifyException(messageSupplier.get());
+        }
+    }
+
     /**
      * 检查参数
      *
@@ -113,4 +239,62 @@ public class CheckUtil {
             throw new IllegalArgumentException(message);
         }
     }
+
+    /**
+     * 检查参数
+     * 固定参数个数，检查通过时不分配参数数组
+     *
+     * @param checked  检查结果
+     * @param template 抛出异常信息模板，格式同{@link String#format}
+     * @param p1       消息参数
+     */
+    public static void checkArgument(boolean checked, String template, Object p1) {
+        if (!checked) {
+            throw new IllegalArgumentException(String.format(template, p1));
+        }
+    }
+
+    /**
+     * 检查参数
+     * 固定参数个数，检查通过时不分配参数数组
+     *
+     * @param checked  检查结果
+     * @param template 抛出异常信息模板，格式同{@link String#format}
+     * @param p1       消息参数1
+     * @param p2       消息参数2
+     */
+    public static void checkArgument(boolean checked, String template, Object p1, Object p2) {
+        if (!checked) {
+            throw new IllegalArgumentException(String.format(template, p1, p2));
+        }
+    }
+
+    /**
+     * 检查参数
+     *
+     * @param checked  检查结果
+     * @param template 抛出异常信息模板，格式同{@link String#format}
+     * @param args     消息参数
+     */
+    public static void checkArgument(boolean checked, String template, Object... args) {
+        if (!checked) {
+            throw new IllegalArgumentException(format(template, args));
+        }
+    }
+
+    /**
+     * 检查参数
+     *
+     * @param checked         检查结果
+     * @param messageSupplier 抛出异常信息提供
+     */
+    public static void checkArgument(boolean checked, Supplier<String> messageSupplier) {
+        if (!checked) {
+            throw new IllegalArgumentException(messageSupplier.get());
+        }
+    }
+
+    private static String format(String template, Object... args) {
+        return args == null || args.length == 0 ? template : String.format(template, args);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,193 @@
+/**
+ * Copyright 2021-2022 jinzhaosn
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinzhaosn.util;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.github.jinzhaosn.util.CheckUtil.checkArgument;
+
+/**
+ * 无锁熔断器
+ * 以连续windowSize次调用为一个统计窗口，窗口内失败率达到阈值时熔断（OPEN），
+ * 熔断期间直接拒绝调用；熔断时长过后放行一次试探调用（HALF_OPEN），成功则恢复（CLOSED），失败则继续熔断。
+ * 窗口计数以一个long原子变量保存（高32位失败次数，低32位调用次数），通过CAS更新。
+ * 每次状态变化都会递增代数，{@link #tryAcquire()}返回的许可即当时的代数，
+ * 状态变化之前发放的许可在之后完成时被忽略，试探调用的结果只由试探调用本身决定
+ * <p>
+ * 配合{@link ObjectUtil#doWithCircuitBreaker(CircuitBreaker, java.util.function.Supplier, java.util.function.Supplier)}使用
+ *
+ * @auther 961374431@qq.com
+ * @date 2022年01月18日
+ */
+public final class CircuitBreaker {
+    /**
+     * 拒绝执行时{@link #tryAcquire()}的返回值
+     */
+    public static final long REJECTED = -1;
+
+    /**
+     * 熔断器状态
+     */
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final double failureRateThreshold;
+    private final int windowSize;
+    private final long openNanos;
+
+    private final AtomicReference<Phase> phase = new AtomicReference<>(new Phase(State.CLOSED, 0, 0));
+    private final AtomicLong window = new AtomicLong();
+
+    private CircuitBreaker(double failureRateThreshold, int windowSize, long openNanos) {
+        this.failureRateThreshold = failureRateThreshold;
+        this.windowSize = windowSize;
+        this.openNanos = openNanos;
+    }
+
+    /**
+     * 构建熔断器
+     *
+     * @param failureRateThreshold 失败率阈值，(0, 1]
+     * @param windowSize           统计窗口调用次数
+     * @param openDuration         熔断时长
+     * @return 熔断器
+     */
+    public static CircuitBreaker newInstance(double failureRateThreshold, int windowSize, Duration openDuration) {
+        checkArgument(failureRateThreshold > 0 && failureRateThreshold <= 1, "失败率阈值需在(0, 1]之间");
+        checkArgument(windowSize > 0, "统计窗口需大于0");
+        checkArgument(openDuration != null && !openDuration.isNegative(), "熔断时长不能为负数");
+
+        return new CircuitBreaker(failureRateThreshold, windowSize, openDuration.toNanos());
+    }
+
+    /**
+     * 申请执行
+     *
+     * @return 许可，拒绝时返回{@link #REJECTED}；获得许可时需在执行后以该许可调用{@link #onSuccess(long)}或{@link #onFailure(long)}
+     */
+    public long tryAcquire() {
+        Phase current = phase.get();
+        if (current.state == State.CLOSED) {
+            return current.generation;
+        }
+        // 熔断时长已过，只放行一次试探调用
+        if (current.state == State.OPEN && System.nanoTime() - current.openedAt >= openNanos) {
+            Phase trial = current.next(State.HALF_OPEN, current.openedAt);
+            if (phase.compareAndSet(current, trial)) {
+                return trial.generation;
+            }
+        }
+        return REJECTED;
+    }
+
+    /**
+     * 记录一次成功调用
+     *
+     * @param permit {@link #tryAcquire()}返回的许可
+     */
+    public void onSuccess(long permit) {
+        Phase current = phase.get();
+        if (current.generation != permit) {
+            return;
+        }
+        if (current.state == State.HALF_OPEN) {
+            window.set(0);
+            phase.compareAndSet(current, current.next(State.CLOSED, 0));
+            return;
+        }
+        record(current, false);
+    }
+
+    /**
+     * 记录一次失败调用
+     *
+     * @param permit {@link #tryAcquire()}返回的许可
+     */
+    public void onFailure(long permit) {
+        Phase current = phase.get();
+        if (current.generation != permit) {
+            return;
+        }
+        if (current.state == State.HALF_OPEN) {
+            phase.compareAndSet(current, current.next(State.OPEN, System.nanoTime()));
+            return;
+        }
+        record(current, true);
+    }
+
+    private void record(Phase closed, boolean failure) {
+        while (true) {
+            long current = window.get();
+            long failures = (current >>> 32) + (failure ? 1 : 0);
+            long calls = (current & 0xFFFFFFFFL) + 1;
+            if (calls < windowSize) {
+                if (window.compareAndSet(current, (failures << 32) | calls)) {
+                    return;
+                }
+                continue;
+            }
+            // 窗口已满，由成功重置窗口的线程判断是否熔断
+            if (window.compareAndSet(current, 0)) {
+                if (failures >= failureRateThreshold * calls) {
+                    phase.compareAndSet(closed, closed.next(State.OPEN, System.nanoTime()));
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * 强制恢复为关闭状态并清空统计，之前发放的许可失效
+     */
+    public void reset() {
+        window.set(0);
+        phase.updateAndGet(current -> current.next(State.CLOSED, 0));
+    }
+
+    public State getState() {
+        return phase.get().state;
+    }
+
+    public double getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    /**
+     * 状态、代数及熔断时间，整体通过CAS替换
+     */
+    private static final class Phase {
+        private final State state;
+        private final long generation;
+        private final long openedAt;
+
+        Phase(State state, long generation, long openedAt) {
+            this.state = state;
+            this.generation = generation;
+            this.openedAt = openedAt;
+        }
+
+        Phase next(State nextState, long nextOpenedAt) {
+            return new Phase(nextState, generation + 1, nextOpenedAt);
+        }
+    }
+}
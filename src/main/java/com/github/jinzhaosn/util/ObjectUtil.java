@@ -15,12 +15,24 @@
  */
 package com.github.jinzhaosn.util;
 
+import com.github.jinzhaosn.exception.ExecuteTimeoutException;
 import com.github.jinzhaosn.function.VoidConsumer;
 
+import java.lang.reflect.UndeclaredThrowableException;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
+import static com.github.jinzhaosn.util.CheckUtil.checkArgument;
+
 /**
  * 对象工具类
  *
@@ -28,10 +40,25 @@ import java.util.function.Supplier;
  * @date 2021年12月19日
  */
 public class ObjectUtil {
+    private static volatile SuppressionMonitor suppressionMonitor;
+
     private ObjectUtil() {
 
     }
 
+    /**
+     * 安装doSilent被忽略异常的监控，为null时不监控
+     *
+     * @param monitor 监控
+     */
+    public static void setSuppressionMonitor(SuppressionMonitor monitor) {
+        suppressionMonitor = monitor;
+    }
+
+    public static SuppressionMonitor getSuppressionMonitor() {
+        return suppressionMonitor;
+    }
+
     /**
      * 从列表中指定位置获取元素，从0计数
      *
@@ -56,7 +83,7 @@ public class ObjectUtil {
         try {
             consumer.accept();
         } catch (Throwable exp) {
-            // TODO logger
+            onSuppressed(consumer, exp);
         }
     }
 
@@ -71,7 +98,7 @@ public class ObjectUtil {
         try {
             return supplier.get();
         } catch (Throwable exp) {
-            // TODO logger
+            onSuppressed(supplier, exp);
         }
         return null;
     }
@@ -89,8 +116,216 @@ public class ObjectUtil {
         try {
             return function.apply(source);
         } catch (Throwable exp) {
-            // TODO logger
+            onSuppressed(function, exp);
         }
         return null;
     }
+
+    /**
+     * 在线程池中执行并限制等待时长，超时后取消（中断）执行
+     *
+     * @param supplier 取值函数
+     * @param timeout  超时时长
+     * @param executor 执行线程池
+     * @param <T>      类型
+     * @return 取值函数返回值
+     * @throws ExecuteTimeoutException 执行超时
+     */
+    public static <T> T doWithTimeout(Supplier<T> supplier, Duration timeout, ExecutorService executor) {
+        checkArgument(supplier != null, "取值函数不能为null");
+        checkArgument(timeout != null && !timeout.isNegative(), "超时时长不能为负数");
+        checkArgument(executor != null, "线程池不能为null");
+
+        Future<T> future = executor.submit(supplier::get);
+        try {
+            return future.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException exp) {
+            future.cancel(true);
+            throw new ExecuteTimeoutException("执行超时：" + timeout, exp);
+        } catch (InterruptedException exp) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new CancellationException("等待执行结果时被中断");
+        } catch (ExecutionException exp) {
+            throw propagate(exp.getCause());
+        }
+    }
+
+    /**
+     * 在线程池中执行并限制等待时长，超时后取消（中断）执行
+     *
+     * @param consumer 执行过程
+     * @param timeout  超时时长
+     * @param executor 执行线程池
+     * @throws ExecuteTimeoutException 执行超时
+     */
+    public static void doWithTimeout(VoidConsumer consumer, Duration timeout, ExecutorService executor) {
+        checkArgument(consumer != null, "执行过程不能为null");
+        doWithTimeout(() -> {
+            consumer.accept();
+            return null;
+        }, timeout, executor);
+    }
+
+    /**
+     * 失败时重试，重试间隔为带随机抖动的指数退避：[0, min(maxDelay, baseDelay * 2^(n-1))]
+     * 所有尝试都失败时抛出第一次的异常，之后的异常作为其suppressed异常
+     *
+     * @param supplier    取值函数
+     * @param maxAttempts 最大尝试次数（包含第一次）
+     * @param baseDelay   基础退避时长
+     * @param maxDelay    最大退避时长
+     * @param <T>         类型
+     * @return 取值函数返回值
+     */
+    public static <T> T doWithRetry(Supplier<T> supplier, int maxAttempts, Duration baseDelay, Duration maxDelay) {
+        checkArgument(supplier != null, "取值函数不能为null");
+        checkArgument(maxAttempts > 0, "最大尝试次数需大于0");
+        checkArgument(baseDelay != null && !baseDelay.isNegative(), "基础退避时长不能为负数");
+        checkArgument(maxDelay != null && !maxDelay.isNegative(), "最大退避时长不能为负数");
+
+        RuntimeException failure = null;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            if (attempt > 1 && !backoff(attempt - 1, baseDelay.toNanos(), maxDelay.toNanos())) {
+                break;
+            }
+            try {
+                return supplier.get();
+            } catch (RuntimeException exp) {
+                // 以第一次失败为主异常，之后的失败作为其被抑制异常，同一异常实例不重复添加
+                if (failure == null) {
+                    failure = exp;
+                } else if (exp != failure) {
+                    failure.addSuppressed(exp);
+                }
+            }
+        }
+        throw failure;
+    }
+
+    /**
+     * 失败时重试，重试间隔为带随机抖动的指数退避
+     *
+     * @param consumer    执行过程
+     * @param maxAttempts 最大尝试次数（包含第一次）
+     * @param baseDelay   基础退避时长
+     * @param maxDelay    最大退避时长
+     */
+    public static void doWithRetry(VoidConsumer consumer, int maxAttempts, Duration baseDelay, Duration maxDelay) {
+        checkArgument(consumer != null, "执行过程不能为null");
+        doWithRetry(() -> {
+            consumer.accept();
+            return null;
+        }, maxAttempts, baseDelay, maxDelay);
+    }
+
+    /**
+     * 通过熔断器执行，熔断或执行失败时返回降级值，失败的异常交给{@link SuppressionMonitor}统计
+     *
+     * @param breaker  熔断器
+     * @param supplier 取值函数
+     * @param fallback 降级取值函数
+     * @param <T>      类型
+     * @return 取值函数或降级取值函数的返回值
+     */
+    public static <T> T doWithCircuitBreaker(CircuitBreaker breaker, Supplier<T> supplier, Supplier<T> fallback) {
+        checkArgument(breaker != null, "熔断器不能为null");
+        checkArgument(supplier != null && fallback != null, "取值函数不能为null");
+        return circuitBreak(breaker, supplier, fallback, supplier);
+    }
+
+    /**
+     * 通过熔断器执行，熔断或执行失败时执行降级过程，失败的异常交给{@link SuppressionMonitor}统计
+     *
+     * @param breaker  熔断器
+     * @param consumer 执行过程
+     * @param fallback 降级执行过程
+     */
+    public static void doWithCircuitBreaker(CircuitBreaker breaker, VoidConsumer consumer, VoidConsumer fallback) {
+        checkArgument(breaker != null, "熔断器不能为null");
+        checkArgument(consumer != null && fallback != null, "执行过程不能为null");
+        circuitBreak(breaker, () -> {
+            consumer.accept();
+            return null;
+        }, () -> {
+            fallback.accept();
+            return null;
+        }, consumer);
+    }
+
+    /**
+     * 通过熔断器执行
+     *
+     * @param breaker  熔断器
+     * @param supplier 取值函数
+     * @param fallback 降级取值函数
+     * @param function 调用方传入的函数，用于区分异常监控的调用点
+     * @param <T>      类型
+     * @return 取值函数或降级取值函数的返回值
+     */
+    private static <T> T circuitBreak(CircuitBreaker breaker, Supplier<T> supplier, Supplier<T> fallback,
+                                      Object function) {
+        long permit = breaker.tryAcquire();
+        if (permit == CircuitBreaker.REJECTED) {
+            return fallback.get();
+        }
+        T result;
+        try {
+            result = supplier.get();
+        } catch (Throwable exp) {
+            // 任何异常都先归还许可，避免试探调用的许可悬空；只有运行时异常降级，
+            // Error以及绕过编译检查抛出的受检异常原样抛出
+            breaker.onFailure(permit);
+            if (!(exp instanceof RuntimeException)) {
+                throw exp;
+            }
+            onSuppressed(function, exp);
+            return fallback.get();
+        }
+        breaker.onSuccess(permit);
+        return result;
+    }
+
+    /**
+     * 按重试次数计算随机退避时长并等待
+     *
+     * @param retry     第几次重试，从1开始
+     * @param baseNanos 基础退避时长
+     * @param maxNanos  最大退避时长
+     * @return 是否等待完成，被中断时返回false
+     */
+    private static boolean backoff(int retry, long baseNanos, long maxNanos) {
+        int shift = Math.min(retry - 1, 30);
+        long cap = baseNanos > (maxNanos >> shift) ? maxNanos : baseNanos << shift;
+        try {
+            TimeUnit.NANOSECONDS.sleep(ThreadLocalRandom.current().nextLong(cap + 1));
+            return true;
+        } catch (InterruptedException exp) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static RuntimeException propagate(Throwable throwable) {
+        if (throwable instanceof RuntimeException) {
+            return (RuntimeException) throwable;
+        }
+        if (throwable instanceof Error) {
+            throw (Error) throwable;
+        }
+        return new UndeclaredThrowableException(throwable);
+    }
+
+    /**
+     * 将被忽略的异常交给监控，以函数类型区分调用点
+     *
+     * @param function 执行失败的函数，为null时（如传入null导致的异常）计入ObjectUtil
+     * @param exp      异常
+     */
+    private static void onSuppressed(Object function, Throwable exp) {
+        SuppressionMonitor monitor = suppressionMonitor;
+        if (monitor != null) {
+            monitor.record(function == null ? ObjectUtil.class : function.getClass(), exp);
+        }
+    }
 }
@@ -0,0 +1,35 @@
+/**
+ * Copyright 2021-2022 jinzhaosn
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinzhaosn.util;
+
+/**
+ * 被忽略异常的监听器
+ * 由{@link SuppressionMonitor}按调用点限流后回调，实现中不应有耗时操作
+ *
+ * @auther 961374431@qq.com
+ * @date 2022年01月17日
+ */
+@FunctionalInterface
+public interface SuppressionListener {
+    /**
+     * 异常被忽略
+     *
+     * @param callSite  调用点，为传入的函数类名，lambda为 定义类名$$Lambda$序号
+     * @param throwable 被忽略的异常
+     * @param count     该调用点累计被忽略的异常次数
+     */
+    void onSuppressed(String callSite, Throwable throwable, long count);
+}
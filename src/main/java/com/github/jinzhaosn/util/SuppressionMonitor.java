@@ -0,0 +1,176 @@
+/**
+ * Copyright 2021-2022 jinzhaosn
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinzhaosn.util;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.github.jinzhaosn.util.CheckUtil.checkArgument;
+
+/**
+ * 被忽略异常的监控
+ * 通过{@link ObjectUtil#setSuppressionMonitor(SuppressionMonitor)}安装后，
+ * {@link ObjectUtil#doSilent}忽略的异常按调用点计数，并按调用点限流回调监听器。
+ * 调用点以传入的函数类型区分，名称为该函数的类名（lambda为定义它的类名加$$Lambda后缀），
+ * 同一个lambda无论从哪里传入都计为同一个调用点；计数过程不遍历堆栈。
+ * 未安装时doSilent与之前一样只忽略异常，没有额外开销
+ *
+ * @auther 961374431@qq.com
+ * @date 2022年01月17日
+ */
+public final class SuppressionMonitor {
+    private final SuppressionListener listener;
+    private final long reportIntervalNanos;
+    private final ConcurrentMap<String, CallSite> callSites = new ConcurrentHashMap<>();
+    private final ClassValue<CallSite> callSitesByType = new ClassValue<CallSite>() {
+        @Override
+        protected CallSite computeValue(Class<?> type) {
+            return callSites.computeIfAbsent(callSiteName(type), CallSite::new);
+        }
+    };
+    private final LongAdder totalCount = new LongAdder();
+
+    private long lastPollCount;
+    private long lastPollNanos = System.nanoTime();
+
+    private SuppressionMonitor(SuppressionListener listener, long reportIntervalNanos) {
+        this.listener = listener;
+        this.reportIntervalNanos = reportIntervalNanos;
+    }
+
+    /**
+     * 构建只计数、不回调的监控
+     *
+     * @return 监控
+     */
+    public static SuppressionMonitor newInstance() {
+        return new SuppressionMonitor(null, 0);
+    }
+
+    /**
+     * 构建监控
+     *
+     * @param listener       监听器
+     * @param reportInterval 同一调用点两次回调的最小间隔
+     * @return 监控
+     */
+    public static SuppressionMonitor newInstance(SuppressionListener listener, Duration reportInterval) {
+        checkArgument(listener != null, "监听器不能为null");
+        checkArgument(reportInterval != null && !reportInterval.isNegative(), "回调间隔不能为负数");
+        return new SuppressionMonitor(listener, reportInterval.toNanos());
+    }
+
+    /**
+     * 记录一次被忽略的异常
+     *
+     * @param callSiteType 调用点标识，为传入doSilent的函数类型
+     * @param throwable    异常
+     */
+    void record(Class<?> callSiteType, Throwable throwable) {
+        totalCount.increment();
+        CallSite callSite = callSitesByType.get(callSiteType);
+        callSite.count.increment();
+
+        if (listener == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        long nextReport = callSite.nextReportNanos.get();
+        if (now - nextReport >= 0 && callSite.nextReportNanos.compareAndSet(nextReport, now + reportIntervalNanos)) {
+            try {
+                listener.onSuppressed(callSite.name, throwable, callSite.count.sum());
+            } catch (Throwable exp) {
+                // 监听器异常不影响调用方
+            }
+        }
+    }
+
+    /**
+     * 调用点名称，去掉隐藏类名称中运行时生成的部分（如lambda类名中的/0x...），保证同一调用点名称稳定
+     *
+     * @param type 函数类型
+     * @return 调用点名称
+     */
+    private static String callSiteName(Class<?> type) {
+        String name = type.getName();
+        int hiddenSuffix = name.indexOf('/');
+        return hiddenSuffix < 0 ? name : name.substring(0, hiddenSuffix);
+    }
+
+    /**
+     * 累计被忽略的异常次数
+     *
+     * @return 次数
+     */
+    public long getTotalCount() {
+        return totalCount.sum();
+    }
+
+    /**
+     * 调用点累计被忽略的异常次数
+     *
+     * @param callSite 调用点
+     * @return 次数
+     */
+    public long getCount(String callSite) {
+        CallSite site = callSites.get(callSite);
+        return site == null ? 0 : site.count.sum();
+    }
+
+    /**
+     * 各调用点累计被忽略的异常次数快照
+     *
+     * @return 调用点 -> 次数
+     */
+    public Map<String, Long> getCounts() {
+        Map<String, Long> counts = new HashMap<>();
+        callSites.forEach((name, site) -> counts.put(name, site.count.sum()));
+        return counts;
+    }
+
+    /**
+     * 计算自上次调用以来每秒被忽略的异常次数，适合由监控任务定期调用
+     *
+     * @return 每秒异常次数
+     */
+    public synchronized double pollRate() {
+        long now = System.nanoTime();
+        long count = totalCount.sum();
+        double seconds = (now - lastPollNanos) / 1_000_000_000.0;
+        double rate = seconds > 0 ? (count - lastPollCount) / seconds : 0;
+        lastPollCount = count;
+        lastPollNanos = now;
+        return rate;
+    }
+
+    /**
+     * 调用点统计
+     */
+    private static final class CallSite {
+        private final String name;
+        private final LongAdder count = new LongAdder();
+        private final AtomicLong nextReportNanos = new AtomicLong(System.nanoTime());
+
+        CallSite(String name) {
+            this.name = name;
+        }
+    }
+}
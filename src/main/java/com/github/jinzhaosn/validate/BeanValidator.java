@@ -0,0 +1,134 @@
+/**
+ *    Copyright 2021-2022 jinzhaosn
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.github.jinzhaosn.validate;
+
+import com.github.jinzhaosn.exception.VerifyException;
+import com.github.jinzhaosn.reflect.Reflect;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.github.jinzhaosn.util.CheckUtil.checkTrue;
+
+/**
+ * 注解校验器
+ * 每个类只通过{@link Reflect#index(Class)}扫描一次{@link NotNull}、{@link Range}、{@link Length}、
+ * {@link Pattern}注解，编译为约束数组并缓存。
+ * 校验时不再有反射，成功时除正则匹配外不产生对象分配，失败时抛出{@link VerifyException}
+ *
+ * 使用例子：
+ * BeanValidator.of(UserRequest.class).validate(request);
+ *
+ * @param <T> 被校验对象类型
+ * @auther 961374431@qq.com
+ * @date 2022年01月12日
+ */
+public final class BeanValidator<T> {
+    private static final ClassValue<BeanValidator<?>> VALIDATORS = new ClassValue<BeanValidator<?>>() {
+        @Override
+        protected BeanValidator<?> computeValue(Class<?> type) {
+            return new BeanValidator<>(type);
+        }
+    };
+
+    private final Class<T> type;
+    private final Constraint<T>[] constraints;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private BeanValidator(Class<T> type) {
+        this.type = type;
+
+        List<Constraint<T>> compiled = new ArrayList<>();
+        for (Field field : Reflect.index(type).getFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            NotNull notNull = field.getAnnotation(NotNull.class);
+            if (notNull != null && !field.getType().isPrimitive()) {
+                compiled.add(Constraint.notNull(field, notNull));
+            }
+            Range range = field.getAnnotation(Range.class);
+            if (range != null) {
+                compiled.add(Constraint.range(field, range));
+            }
+            Length length = field.getAnnotation(Length.class);
+            if (length != null) {
+                compiled.add(Constraint.length(field, length));
+            }
+            Pattern pattern = field.getAnnotation(Pattern.class);
+            if (pattern != null) {
+                compiled.add(Constraint.pattern(field, pattern));
+            }
+        }
+        this.constraints = compiled.toArray(new Constraint[0]);
+    }
+
+    /**
+     * 获取类的校验器，首次访问时编译，之后直接复用
+     *
+     * @param type 被校验的类
+     * @param <T>  类型
+     * @return 校验器
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> BeanValidator<T> of(Class<T> type) {
+        return (BeanValidator<T>) VALIDATORS.get(type);
+    }
+
+    /**
+     * 校验对象，遇到第一个不满足的约束时抛出异常
+     *
+     * @param bean 被校验对象
+     * @return 校验通过时返回对象自身
+     */
+    public T validate(T bean) {
+        checkTrue(bean != null, "被校验对象不能为null");
+        for (Constraint<T> constraint : constraints) {
+            if (!constraint.test(bean)) {
+                throw new VerifyException(constraint.getMessage());
+            }
+        }
+        return bean;
+    }
+
+    /**
+     * 判断对象是否满足所有约束
+     *
+     * @param bean 被校验对象
+     * @return 是否满足
+     */
+    public boolean isValid(T bean) {
+        if (bean == null) {
+            return false;
+        }
+        for (Constraint<T> constraint : constraints) {
+            if (!constraint.test(bean)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    Constraint<T>[] getConstraints() {
+        return constraints;
+    }
+}
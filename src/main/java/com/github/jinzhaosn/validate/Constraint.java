@@ -0,0 +1,174 @@
+/**
+ *    Copyright 2021-2022 jinzhaosn
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.github.jinzhaosn.validate;
+
+import com.github.jinzhaosn.reflect.Reflect;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+import static com.github.jinzhaosn.util.CheckUtil.checkArgument;
+
+/**
+ * 已编译的属性约束
+ * 属性读取器、正则表达式和异常消息都在编译时准备好，校验时只读取属性并比较
+ *
+ * @param <T> 被校验对象类型
+ * @auther 961374431@qq.com
+ * @date 2022年01月12日
+ */
+abstract class Constraint<T> {
+    private final String message;
+
+    Constraint(String message) {
+        this.message = message;
+    }
+
+    /**
+     * 校验对象
+     *
+     * @param bean 被校验对象
+     * @return 是否满足约束
+     */
+    abstract boolean test(T bean);
+
+    /**
+     * 约束不满足时的消息
+     *
+     * @return 消息
+     */
+    String getMessage() {
+        return message;
+    }
+
+    private static String message(String customMessage, String defaultMessage) {
+        return customMessage.isEmpty() ? defaultMessage : customMessage;
+    }
+
+    static <T> Constraint<T> notNull(Field field, NotNull notNull) {
+        Function<T, Object> getter = Reflect.getter(field);
+        return new Constraint<T>(message(notNull.message(), field.getName() + "不能为null")) {
+            @Override
+            boolean test(T bean) {
+                return getter.apply(bean) != null;
+            }
+        };
+    }
+
+    static <T> Constraint<T> range(Field field, Range range) {
+        long min = range.min();
+        long max = range.max();
+        checkArgument(min <= max, "@Range最小值不能大于最大值：%s", field);
+        String message = message(range.message(), field.getName() + "超出范围[" + min + ", " + max + "]");
+        Class<?> type = field.getType();
+
+        if (type == long.class || type == int.class || type == short.class || type == byte.class) {
+            ToLongFunction<T> getter = Reflect.longGetter(field);
+            return new Constraint<T>(message) {
+                @Override
+                boolean test(T bean) {
+                    long value = getter.applyAsLong(bean);
+                    return value >= min && value <= max;
+                }
+            };
+        }
+        if (type == double.class || type == float.class) {
+            ToDoubleFunction<T> getter = Reflect.doubleGetter(field);
+            return new Constraint<T>(message) {
+                @Override
+                boolean test(T bean) {
+                    double value = getter.applyAsDouble(bean);
+                    return value >= min && value <= max;
+                }
+            };
+        }
+        if (type == Long.class || type == Integer.class || type == Short.class || type == Byte.class) {
+            Function<T, Number> getter = Reflect.getter(field);
+            return new Constraint<T>(message) {
+                @Override
+                boolean test(T bean) {
+                    Number value = getter.apply(bean);
+                    return value == null || (value.longValue() >= min && value.longValue() <= max);
+                }
+            };
+        }
+        checkArgument(Number.class.isAssignableFrom(type), "@Range不支持的属性类型：%s", field);
+        Function<T, Number> getter = Reflect.getter(field);
+        return new Constraint<T>(message) {
+            @Override
+            boolean test(T bean) {
+                Number value = getter.apply(bean);
+                return value == null || (value.doubleValue() >= min && value.doubleValue() <= max);
+            }
+        };
+    }
+
+    static <T> Constraint<T> length(Field field, Length length) {
+        int min = length.min();
+        int max = length.max();
+        checkArgument(min >= 0 && min <= max, "@Length长度范围不合法：%s", field);
+        String message = message(length.message(), field.getName() + "长度超出范围[" + min + ", " + max + "]");
+        Class<?> type = field.getType();
+        checkArgument(CharSequence.class.isAssignableFrom(type) || Collection.class.isAssignableFrom(type)
+                || Map.class.isAssignableFrom(type) || type.isArray(), "@Length不支持的属性类型：%s", field);
+
+        Function<T, Object> getter = Reflect.getter(field);
+        return new Constraint<T>(message) {
+            @Override
+            boolean test(T bean) {
+                Object value = getter.apply(bean);
+                if (value == null) {
+                    return true;
+                }
+                int size = sizeOf(value);
+                return size >= min && size <= max;
+            }
+        };
+    }
+
+    static <T> Constraint<T> pattern(Field field, Pattern pattern) {
+        checkArgument(CharSequence.class.isAssignableFrom(field.getType()), "@Pattern不支持的属性类型：%s", field);
+        java.util.regex.Pattern regex = java.util.regex.Pattern.compile(pattern.regexp());
+        String message = message(pattern.message(), field.getName() + "格式不正确");
+
+        Function<T, CharSequence> getter = Reflect.getter(field);
+        return new Constraint<T>(message) {
+            @Override
+            boolean test(T bean) {
+                CharSequence value = getter.apply(bean);
+                return value == null || regex.matcher(value).matches();
+            }
+        };
+    }
+
+    private static int sizeOf(Object value) {
+        if (value instanceof CharSequence) {
+            return ((CharSequence) value).length();
+        }
+        if (value instanceof Collection) {
+            return ((Collection<?>) value).size();
+        }
+        if (value instanceof Map) {
+            return ((Map<?, ?>) value).size();
+        }
+        return Array.getLength(value);
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ *    Copyright 2021-2022 jinzhaosn
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.github.jinzhaosn.validate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.LongPredicate;
+
+import static com.github.jinzhaosn.util.CheckUtil.checkArgument;
+
+/**
+ * long数组累积校验器，规则为基本类型谓词，校验过程不装箱
+ * 批量校验方式与{@link Validator}一致，构建后不可变，线程安全
+ *
+ * @auther 961374431@qq.com
+ * @date 2022年01月15日
+ */
+public final class LongValidator {
+    private final LongPredicate[] rules;
+    private final String[] messages;
+
+    private LongValidator(List<LongPredicate> rules, List<String> messages) {
+        this.rules = rules.toArray(new LongPredicate[0]);
+        // 与Validator保持一致，规则编号从1开始
+        this.messages = new String[messages.size() + 1];
+        for (int i = 0; i < messages.size(); i++) {
+            this.messages[i + 1] = messages.get(i);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 在公共fork/join线程池中批量校验
+     *
+     * @param values 被校验数据
+     * @return 校验结果
+     */
+    public ValidationResult validateAll(long[] values) {
+        return validateAll(values, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 在指定fork/join线程池中批量校验
+     *
+     * @param values 被校验数据
+     * @param pool   线程池
+     * @return 校验结果
+     */
+    public ValidationResult validateAll(long[] values, ForkJoinPool pool) {
+        checkArgument(values != null, "被校验数据不能为null");
+        checkArgument(pool != null, "线程池不能为null");
+        Violations violations = Violations.checkAll(values.length, (index, sink) -> {
+            long value = values[index];
+            for (int rule = 0; rule < rules.length; rule++) {
+                boolean passed;
+                try {
+                    passed = rules[rule].test(value);
+                } catch (RuntimeException exp) {
+                    // 规则执行异常视为该规则失败
+                    passed = false;
+                }
+                if (!passed) {
+                    sink.add(index, rule + 1);
+                }
+            }
+        }, pool);
+        return new ValidationResult(violations, messages);
+    }
+
+    /**
+     * 校验器构建
+     */
+    public static final class Builder {
+        private final List<LongPredicate> rules = new ArrayList<>();
+        private final List<String> messages = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * 添加校验规则
+         *
+         * @param rule    规则，返回false表示失败
+         * @param message 失败消息
+         * @return 构建对象
+         */
+        public Builder rule(LongPredicate rule, String message) {
+            checkArgument(rule != null, "校验规则不能为null");
+            rules.add(rule);
+            messages.add(message);
+            return this;
+        }
+
+        public LongValidator build() {
+            return new LongValidator(rules, messages);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/**
+ *    Copyright 2021-2022 jinzhaosn
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.github.jinzhaosn.validate;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 属性格式校验，要求整个字符串匹配正则表达式
+ * 支持字符串属性，属性为null时不校验
+ *
+ * @auther 961374431@qq.com
+ * @date 2022年01月12日
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Pattern {
+    /**
+     * 正则表达式
+     *
+     * @return 正则表达式
+     */
+    String regexp();
+
+    /**
+     * 校验失败时的异常消息，为空时使用默认消息
+     *
+     * @return 异常消息
+     */
+    String message() default "";
+}
@@ -0,0 +1,55 @@
+/**
+ *    Copyright 2021-2022 jinzhaosn
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.github.jinzhaosn.validate;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 属性取值范围校验（包含边界）
+ * 支持整数、浮点数基本类型及其包装类型，属性为null时不校验
+ *
+ * @auther 961374431@qq.com
+ * @date 2022年01月12日
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Range {
+    /**
+     * 最小值
+     *
+     * @return 最小值
+     */
+    long min() default Long.MIN_VALUE;
+
+    /**
+     * 最大值
+     *
+     * @return 最大值
+     */
+    long max() default Long.MAX_VALUE;
+
+    /**
+     * 校验失败时的异常消息，为空时使用默认消息
+     *
+     * @return 异常消息
+     */
+    String message() default "";
+}
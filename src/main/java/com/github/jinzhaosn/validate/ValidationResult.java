@@ -0,0 +1,134 @@
+/**
+ *    Copyright 2021-2022 jinzhaosn
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.github.jinzhaosn.validate;
+
+import com.github.jinzhaosn.exception.VerifyException;
+
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * 校验结果
+ * 失败记录按数据下标升序排列，同一条数据内按规则添加顺序排列。
+ * 内部只保存下标和规则编号，消息在访问时才取出
+ *
+ * @auther 961374431@qq.com
+ * @date 2022年01月15日
+ */
+public final class ValidationResult {
+    private final int[] indexes;
+    private final int[] rules;
+    private final String[] messages;
+
+    ValidationResult(Violations violations, String[] messages) {
+        this.indexes = violations.indexes();
+        this.rules = violations.rules();
+        this.messages = messages;
+    }
+
+    /**
+     * 是否全部通过
+     *
+     * @return 是否通过
+     */
+    public boolean isValid() {
+        return indexes.length == 0;
+    }
+
+    /**
+     * 失败记录条数
+     *
+     * @return 条数
+     */
+    public int size() {
+        return indexes.length;
+    }
+
+    /**
+     * 第i条失败记录对应的数据下标
+     *
+     * @param i 失败记录序号
+     * @return 数据下标
+     */
+    public int getIndex(int i) {
+        return indexes[i];
+    }
+
+    /**
+     * 第i条失败记录的消息
+     *
+     * @param i 失败记录序号
+     * @return 消息
+     */
+    public String getMessage(int i) {
+        return messages[rules[i]];
+    }
+
+    /**
+     * 失败记录列表视图
+     *
+     * @return 失败记录（不可变）
+     */
+    public List<Violation> getViolations() {
+        return new AbstractList<Violation>() {
+            @Override
+            public Violation get(int i) {
+                return new Violation(getIndex(i), getMessage(i));
+            }
+
+            @Override
+            public int size() {
+                return indexes.length;
+            }
+        };
+    }
+
+    /**
+     * 存在失败记录时抛出异常，异常消息为第一条失败记录
+     */
+    public void throwIfInvalid() {
+        if (!isValid()) {
+            throw new VerifyException(
+                    "第" + indexes[0] + "条数据校验失败：" + getMessage(0) + "，共" + indexes.length + "处失败");
+        }
+    }
+
+    /**
+     * 单条失败记录
+     */
+    public static final class Violation {
+        private final int index;
+        private final String message;
+
+        Violation(int index, String message) {
+            this.index = index;
+            this.message = message;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return "[" + index + "] " + message;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/**
+ *    Copyright 2021-2022 jinzhaosn
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.github.jinzhaosn.validate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+
+import static com.github.jinzhaosn.util.CheckUtil.checkArgument;
+
+/**
+ * 累积校验器
+ * 与{@link com.github.jinzhaosn.util.CheckUtil}遇到第一个失败即抛出异常不同，
+ * 该校验器收集所有数据、所有规则的失败记录，过程中不产生异常，规则抛出的运行时异常记为该规则失败。
+ * 批量校验在fork/join线程池中分段并行执行，结果按数据下标合并，与串行校验一致。
+ * 构建后不可变，线程安全
+ *
+ * 使用例子：
+ * Validator<Order> validator = Validator.<Order>builder()
+ *     .constraints(Order.class)
+ *     .rule(order -> order.getAmount() > 0, "金额必须大于0")
+ *     .build();
+ * ValidationResult result = validator.validateAll(orders);
+ *
+ * @param <T> 被校验对象类型
+ * @auther 961374431@qq.com
+ * @date 2022年01月15日
+ */
+public final class Validator<T> {
+    private static final String NULL_MESSAGE = "被校验对象不能为null";
+
+    private final Predicate<? super T>[] rules;
+    private final String[] messages;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Validator(List<Predicate<? super T>> rules, List<String> messages) {
+        this.rules = rules.toArray(new Predicate[0]);
+        // 规则编号从1开始，0号为对象为null的消息
+        this.messages = new String[messages.size() + 1];
+        this.messages[0] = NULL_MESSAGE;
+        for (int i = 0; i < messages.size(); i++) {
+            this.messages[i + 1] = messages.get(i);
+        }
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * 校验单个对象，收集所有失败的规则
+     *
+     * @param data 被校验对象
+     * @return 校验结果，下标为0
+     */
+    public ValidationResult validate(T data) {
+        Violations violations = new Violations();
+        check(data, 0, violations);
+        return new ValidationResult(violations, messages);
+    }
+
+    /**
+     * 在公共fork/join线程池中批量校验
+     *
+     * @param dataList 被校验数据
+     * @return 校验结果
+     */
+    public ValidationResult validateAll(List<? extends T> dataList) {
+        return validateAll(dataList, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 在指定fork/join线程池中批量校验
+     *
+     * @param dataList 被校验数据
+     * @param pool     线程池
+     * @return 校验结果
+     */
+    public ValidationResult validateAll(List<? extends T> dataList, ForkJoinPool pool) {
+        checkArgument(dataList != null, "被校验数据不能为null");
+        checkArgument(pool != null, "线程池不能为null");
+        List<? extends T> items = dataList instanceof RandomAccess ? dataList : new ArrayList<>(dataList);
+        Violations violations = Violations.checkAll(items.size(),
+                (index, sink) -> check(items.get(index), index, sink), pool);
+        return new ValidationResult(violations, messages);
+    }
+
+    private void check(T data, int index, Violations sink) {
+        if (data == null) {
+            sink.add(index, 0);
+            return;
+        }
+        for (int rule = 0; rule < rules.length; rule++) {
+            boolean passed;
+            try {
+                passed = rules[rule].test(data);
+            } catch (RuntimeException exp) {
+                // 规则执行异常视为该规则失败，不影响其他规则和其他数据
+                passed = false;
+            }
+            if (!passed) {
+                sink.add(index, rule + 1);
+            }
+        }
+    }
+
+    /**
+     * 校验器构建
+     *
+     * @param <T> 被校验对象类型
+     */
+    public static final class Builder<T> {
+        private final List<Predicate<? super T>> rules = new ArrayList<>();
+        private final List<String> messages = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * 添加校验规则
+         *
+         * @param rule    规则，返回false表示失败
+         * @param message 失败消息
+         * @return 构建对象
+         */
+        public Builder<T> rule(Predicate<? super T> rule, String message) {
+            checkArgument(rule != null, "校验规则不能为null");
+            rules.add(rule);
+            messages.add(message);
+            return this;
+        }
+
+        /**
+         * 添加类上的注解约束，见{@link BeanValidator}
+         *
+         * @param type 被校验的类
+         * @return 构建对象
+         */
+        public Builder<T> constraints(Class<? super T> type) {
+            for (Constraint<? super T> constraint : BeanValidator.of(type).getConstraints()) {
+                rule(constraint::test, constraint.getMessage());
+            }
+            return this;
+        }
+
+        public Validator<T> build() {
+            return new Validator<>(rules, messages);
+        }
+    }
+}
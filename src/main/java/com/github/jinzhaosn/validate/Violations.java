@@ -0,0 +1,152 @@
+/**
+ *    Copyright 2021-2022 jinzhaosn
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package com.github.jinzhaosn.validate;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 校验失败记录，以两个int数组紧凑存储（数据下标、规则编号），非线程安全
+ * 同时提供基于fork/join的批量校验，按下标顺序合并，结果与串行校验一致
+ *
+ * @auther 961374431@qq.com
+ * @date 2022年01月15日
+ */
+final class Violations {
+    private static final int[] EMPTY = new int[0];
+    private static final int MIN_BATCH_SIZE = 1024;
+
+    private int[] indexes = EMPTY;
+    private int[] rules = EMPTY;
+    private int size;
+
+    /**
+     * 单条数据的校验过程
+     */
+    @FunctionalInterface
+    interface IndexChecker {
+        /**
+         * 校验指定下标的数据，将失败记录写入sink
+         *
+         * @param index 数据下标
+         * @param sink  失败记录
+         */
+        void check(int index, Violations sink);
+    }
+
+    /**
+     * 记录一次校验失败
+     *
+     * @param index 数据下标
+     * @param rule  规则编号
+     */
+    void add(int index, int rule) {
+        ensureCapacity(size + 1);
+        indexes[size] = index;
+        rules[size] = rule;
+        size++;
+    }
+
+    /**
+     * 追加另一组失败记录
+     *
+     * @param other 失败记录
+     */
+    void addAll(Violations other) {
+        if (other.size == 0) {
+            return;
+        }
+        ensureCapacity(size + other.size);
+        System.arraycopy(other.indexes, 0, indexes, size, other.size);
+        System.arraycopy(other.rules, 0, rules, size, other.size);
+        size += other.size;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > indexes.length) {
+            int newCapacity = Math.max(capacity, Math.max(8, indexes.length * 2));
+            indexes = Arrays.copyOf(indexes, newCapacity);
+            rules = Arrays.copyOf(rules, newCapacity);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    int[] indexes() {
+        return Arrays.copyOf(indexes, size);
+    }
+
+    int[] rules() {
+        return Arrays.copyOf(rules, size);
+    }
+
+    /**
+     * 在fork/join线程池中批量校验[0, count)范围内的数据
+     *
+     * @param count   数据条数
+     * @param checker 单条数据的校验过程
+     * @param pool    线程池
+     * @return 失败记录，按下标升序
+     */
+    static Violations checkAll(int count, IndexChecker checker, ForkJoinPool pool) {
+        int batchSize = Math.max(MIN_BATCH_SIZE, count / (pool.getParallelism() * 8));
+        if (count <= batchSize) {
+            return checkRange(0, count, checker);
+        }
+        return pool.invoke(new CheckTask(0, count, batchSize, checker));
+    }
+
+    private static Violations checkRange(int from, int to, IndexChecker checker) {
+        Violations violations = new Violations();
+        for (int index = from; index < to; index++) {
+            checker.check(index, violations);
+        }
+        return violations;
+    }
+
+    /**
+     * 分段校验任务，左半段结果在前，保证合并顺序确定
+     */
+    private static final class CheckTask extends RecursiveTask<Violations> {
+        private final int from;
+        private final int to;
+        private final int batchSize;
+        private final IndexChecker checker;
+
+        CheckTask(int from, int to, int batchSize, IndexChecker checker) {
+            this.from = from;
+            this.to = to;
+            this.batchSize = batchSize;
+            this.checker = checker;
+        }
+
+        @Override
+        protected Violations compute() {
+            if (to - from <= batchSize) {
+                return checkRange(from, to, checker);
+            }
+            int middle = (from + to) >>> 1;
+            CheckTask right = new CheckTask(middle, to, batchSize, checker);
+            right.fork();
+            Violations result = new CheckTask(from, middle, batchSize, checker).compute();
+            result.addAll(right.join());
+            return result;
+        }
+    }
+}
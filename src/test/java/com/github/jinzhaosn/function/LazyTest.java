@@ -0,0 +1,133 @@
+/**
+ *    Copyright 2021-2022 jinzhaosn
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.github.jinzhaosn.function;
+
+import com.github.jinzhaosn.util.CheckUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lazy类测试
+ *
+ * @auther 961374431@qq.com
+ * @date 2022年01月20日
+ */
+public class LazyTest {
+
+    @Test
+    public void lazyTest() throws InterruptedException {
+        AtomicInteger calls = new AtomicInteger();
+        Lazy<String> lazy = Lazy.of(() -> "value" + calls.incrementAndGet());
+        Assert.assertFalse(lazy.isInitialized());
+
+        // 子线程中的断言失败不会传递给JUnit，结果收集后在主线程断言
+        String[] results = new String[8];
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < results.length; i++) {
+            int index = i;
+            Thread thread = new Thread(() -> results[index] = lazy.get());
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (String result : results) {
+            Assert.assertEquals("value1", result);
+        }
+        Assert.assertEquals(1, calls.get());
+        Assert.assertEquals("value1", CheckUtil.<String>check(null, data -> data != null, lazy));
+
+        Lazy<String> nullLazy = Lazy.of(() -> {
+            calls.incrementAndGet();
+            return null;
+        });
+        Assert.assertNull(nullLazy.get());
+        Assert.assertNull(nullLazy.get());
+        Assert.assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void primitiveTest() {
+        AtomicInteger calls = new AtomicInteger();
+        LazyInt lazyInt = LazyInt.of(calls::incrementAndGet);
+        Assert.assertEquals(1, lazyInt.getAsInt());
+        Assert.assertEquals(1, lazyInt.getAsInt());
+
+        LazyLong lazyLong = LazyLong.of(() -> calls.incrementAndGet() * 10L);
+        Assert.assertEquals(20L, lazyLong.getAsLong());
+        Assert.assertEquals(20L, lazyLong.getAsLong());
+        Assert.assertTrue(lazyLong.isInitialized());
+    }
+
+    @Test
+    public void expiringTest() throws InterruptedException {
+        AtomicInteger calls = new AtomicInteger();
+        ExpiringLazy<Integer> lazy = Lazy.expiring(calls::incrementAndGet, Duration.ofMillis(30));
+        Assert.assertEquals(Integer.valueOf(1), lazy.get());
+        Assert.assertEquals(Integer.valueOf(1), lazy.get());
+        Thread.sleep(40);
+        Assert.assertEquals(Integer.valueOf(2), lazy.get());
+        lazy.invalidate();
+        Assert.assertEquals(Integer.valueOf(3), lazy.get());
+    }
+
+    @Test
+    public void refreshingTest() throws InterruptedException {
+        AtomicInteger calls = new AtomicInteger();
+        List<Runnable> tasks = new ArrayList<>();
+        RefreshingLazy<Integer> lazy = Lazy.refreshing(calls::incrementAndGet, Duration.ofMillis(10), tasks::add);
+        Assert.assertEquals(Integer.valueOf(1), lazy.get());
+        Thread.sleep(20);
+
+        // 过期后仍返回旧值，只提交一次刷新
+        Assert.assertEquals(Integer.valueOf(1), lazy.get());
+        Assert.assertEquals(Integer.valueOf(1), lazy.get());
+        Assert.assertEquals(1, tasks.size());
+        Assert.assertTrue(lazy.isRefreshing());
+
+        tasks.get(0).run();
+        Assert.assertFalse(lazy.isRefreshing());
+        Assert.assertEquals(Integer.valueOf(2), lazy.get());
+    }
+
+    @Test
+    public void refreshFailureTest() throws InterruptedException {
+        AtomicInteger calls = new AtomicInteger();
+        List<Runnable> tasks = new ArrayList<>();
+        RefreshingLazy<Integer> failing = Lazy.refreshing(() -> {
+            if (calls.incrementAndGet() > 1) {
+                throw new IllegalStateException("refresh failed");
+            }
+            return 2;
+        }, Duration.ofMillis(50), tasks::add);
+        Assert.assertEquals(Integer.valueOf(2), failing.get());
+        Thread.sleep(60);
+        Assert.assertEquals(Integer.valueOf(2), failing.get());
+        tasks.get(0).run();
+        Assert.assertFalse(failing.isRefreshing());
+
+        // 刷新失败后顺延有效期，期间不再提交刷新
+        Assert.assertEquals(Integer.valueOf(2), failing.get());
+        Assert.assertEquals(1, tasks.size());
+    }
+}
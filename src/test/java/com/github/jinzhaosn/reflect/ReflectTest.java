@@ -0,0 +1,308 @@
+/**
+ *    Copyright 2021-2022 jinzhaosn
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.github.jinzhaosn.reflect;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Reflect类测试
+ *
+ * @auther 961374431@qq.com
+ * @date 2022年01月08日
+ */
+public class ReflectTest {
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.FIELD, ElementType.METHOD})
+    @interface Marked {
+    }
+
+    interface Named {
+        String PREFIX = "named-";
+
+        String name();
+    }
+
+    static class Base {
+        @Marked
+        protected String name = "base";
+        private long id;
+
+        public String describe() {
+            return "base";
+        }
+
+        public String describe(String prefix) {
+            return prefix + "base";
+        }
+    }
+
+    static class Child extends Base implements Named {
+        private String name = "child";
+        private int age;
+
+        @Marked
+        @Override
+        public String describe() {
+            return "child";
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+    }
+
+    @Test
+    public void findMethodTest() throws NoSuchMethodException {
+        Assert.assertEquals(Child.class.getDeclaredMethod("describe"), Reflect.findMethod(Child.class, "describe"));
+        Assert.assertEquals(Base.class.getDeclaredMethod("describe", String.class),
+                Reflect.findMethod(Child.class, "describe", String.class));
+        Assert.assertEquals(Child.class.getDeclaredMethod("name"), Reflect.findMethod(Child.class, "name", null));
+        Assert.assertNull(Reflect.findMethod(Child.class, "describe", Integer.class));
+        Assert.assertNull(Reflect.findMethod(null, "describe"));
+    }
+
+    @Test
+    public void findFieldTest() throws NoSuchFieldException {
+        Assert.assertEquals(Child.class.getDeclaredField("name"), Reflect.findField(Child.class, "name"));
+        Assert.assertEquals(Base.class.getDeclaredField("id"), Reflect.findField(Child.class, "id"));
+        Assert.assertEquals(Named.class.getDeclaredField("PREFIX"), Reflect.findField(Child.class, "PREFIX"));
+        Assert.assertNull(Reflect.findField(Child.class, "missing"));
+        // 父类属性优先于接口常量
+        Assert.assertEquals(Shadowing.class.getDeclaredField("x"), Reflect.findField(ShadowingChild.class, "x"));
+
+        Field outer = Reflect.findField(Inner.class, "this$0");
+        Assert.assertNotNull(outer);
+        Assert.assertFalse(Reflect.index(Inner.class).getFields().contains(outer));
+    }
+
+    class Inner {
+    }
+
+    interface Constant {
+        int x = 1;
+    }
+
+    static class Shadowing {
+        int x;
+    }
+
+    static class ShadowingChild extends Shadowing implements Constant {
+    }
+
+    @Test
+    public void indexTest() {
+        MemberIndex index = Reflect.index(Child.class);
+        Assert.assertSame(index, Reflect.index(Child.class));
+        Assert.assertEquals(2, index.getFields().stream().filter(field -> field.getName().equals("name")).count());
+        Assert.assertEquals(3, index.getMethods("describe").size());
+
+        Assert.assertEquals(1, index.getFieldsWithAnnotation(Marked.class).size());
+        for (Field field : index.getFieldsWithAnnotation(Marked.class)) {
+            Assert.assertEquals(Base.class, field.getDeclaringClass());
+        }
+        Assert.assertEquals(1, index.getMethodsWithAnnotation(Marked.class).size());
+        for (Method method : index.getMethodsWithAnnotation(Marked.class)) {
+            Assert.assertEquals(Child.class, method.getDeclaringClass());
+        }
+    }
+
+    @Test
+    public void accessorTest() {
+        Child child = new Child();
+        Function<Child, String> nameGetter = Reflect.getter(Child.class, "name");
+        Assert.assertSame(nameGetter, Reflect.getter(Child.class, "name"));
+        Assert.assertEquals("child", nameGetter.apply(child));
+
+        BiConsumer<Child, String> nameSetter = Reflect.setter(Child.class, "name");
+        nameSetter.accept(child, "changed");
+        Assert.assertEquals("changed", child.name());
+
+        Reflect.intSetter(Child.class, "age").accept(child, 18);
+        Assert.assertEquals(18, Reflect.intGetter(Child.class, "age").applyAsInt(child));
+        Assert.assertEquals(18L, Reflect.longGetter(Child.class, "age").applyAsLong(child));
+
+        Reflect.longSetter(Child.class, "id").accept(child, 7L);
+        Assert.assertEquals(7.0, Reflect.doubleGetter(Child.class, "id").applyAsDouble(child), 0.0);
+        Assert.assertEquals("named-", Reflect.getter(Child.class, "PREFIX").apply(null));
+
+        Assert.assertEquals("changed", Reflect.invoker(Child.class, "name").invoke(child));
+        Assert.assertEquals(">base", Reflect.invoker(Child.class, "describe", String.class).invoke(child, ">"));
+    }
+
+    static class Worker {
+        private static int created;
+        private double ratio = 0.5;
+
+        private long add(int left, long right) {
+            return left + right;
+        }
+
+        static void create() {
+            created++;
+        }
+
+        void fail() throws Exception {
+            throw new Exception("checked");
+        }
+    }
+
+    @Test
+    public void generatedAccessorTest() throws Exception {
+        Child child = new Child();
+        Assert.assertTrue(AccessorGenerator.isGenerated(Reflect.getter(Child.class, "name")));
+        Assert.assertTrue(AccessorGenerator.isGenerated(Reflect.setter(Child.class, "name")));
+        Assert.assertTrue(AccessorGenerator.isGenerated(Reflect.intSetter(Child.class, "age")));
+        Assert.assertTrue(AccessorGenerator.isGenerated(Reflect.longGetter(Child.class, "age")));
+        Assert.assertTrue(AccessorGenerator.isGenerated(Reflect.doubleGetter(Child.class, "id")));
+        Assert.assertTrue(AccessorGenerator.isGenerated(Reflect.getter(Child.class, "PREFIX")));
+        Assert.assertTrue(AccessorGenerator.isGenerated(Reflect.invoker(Child.class, "describe", String.class)));
+
+        Worker worker = new Worker();
+        Reflect.doubleSetter(Worker.class, "ratio").accept(worker, 2.5);
+        Assert.assertEquals(2.5, worker.ratio, 0.0);
+        Assert.assertEquals(2.5, Reflect.getter(Worker.class, "ratio").apply(worker));
+        Reflect.intSetter(Worker.class, "created").accept(null, 3);
+        Assert.assertEquals(3, Worker.created);
+
+        Invoker<Worker> add = Reflect.invoker(Worker.class, "add", int.class, long.class);
+        Assert.assertTrue(AccessorGenerator.isGenerated(add));
+        Assert.assertEquals(5L, add.invoke(worker, 2, 3L));
+        Assert.assertNull(Reflect.invoker(Worker.class, "create").invoke(null));
+        Assert.assertEquals(4, Worker.created);
+        try {
+            add.invoke(worker, 2);
+            Assert.fail("expect IllegalArgumentException");
+        } catch (IllegalArgumentException exp) {
+            Assert.assertTrue(exp.getMessage().startsWith("参数个数不匹配"));
+        }
+        try {
+            Reflect.invoker(Worker.class, "fail").invoke(worker);
+            Assert.fail("expect UndeclaredThrowableException");
+        } catch (UndeclaredThrowableException exp) {
+            Assert.assertEquals("checked", exp.getCause().getMessage());
+        }
+    }
+
+    /**
+     * 对比直接读取、生成的读取器、Field#get的耗时
+     */
+    @Test
+    public void getterBenchmarkTest() throws Exception {
+        Child[] children = new Child[1024];
+        for (int i = 0; i < children.length; i++) {
+            children[i] = new Child();
+            children[i].setAge(i);
+        }
+        ToIntFunction<Child> getter = Reflect.intGetter(Child.class, "age");
+        Field field = Child.class.getDeclaredField("age");
+        field.setAccessible(true);
+
+        long direct = 0;
+        long generated = 0;
+        long reflection = 0;
+        long sum = 0;
+        for (int round = 0; round < 5; round++) {
+            long time1 = System.nanoTime();
+            for (int i = 0; i < 2_000_000; i++) {
+                sum += children[i & 1023].getAge();
+            }
+            long time2 = System.nanoTime();
+            for (int i = 0; i < 2_000_000; i++) {
+                sum += getter.applyAsInt(children[i & 1023]);
+            }
+            long time3 = System.nanoTime();
+            for (int i = 0; i < 2_000_000; i++) {
+                sum += field.getInt(children[i & 1023]);
+            }
+            long time4 = System.nanoTime();
+            direct = time2 - time1;
+            generated = time3 - time2;
+            reflection = time4 - time3;
+        }
+        System.out.println("direct cost " + direct / 1_000_000 + "ms, generated getter cost " + generated / 1_000_000
+                + "ms, Field.get cost " + reflection / 1_000_000 + "ms, checksum " + sum);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void accessorTypeMismatchTest() {
+        Reflect.intGetter(Child.class, "id");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void accessorMissingTest() {
+        Reflect.getter(Child.class, "missing");
+    }
+
+    static class SourceBean {
+        private int count = 3;
+        private Integer total;
+        private String name = "source";
+        private String remark;
+        private Long ignored = 1L;
+    }
+
+    static class TargetBean {
+        private long count;
+        private long total = 9;
+        private String name;
+        private String remark = "keep";
+        private String ignored;
+    }
+
+    @Test
+    public void copierTest() {
+        BeanCopier<SourceBean, TargetBean> copier = Reflect.copier(SourceBean.class, TargetBean.class);
+        Assert.assertSame(copier, Reflect.copier(SourceBean.class, TargetBean.class));
+        Assert.assertEquals(Arrays.asList("count", "total", "name", "remark"), copier.getProperties());
+
+        TargetBean target = copier.copy(new SourceBean(), new TargetBean());
+        Assert.assertEquals(3L, target.count);
+        Assert.assertEquals(9L, target.total);
+        Assert.assertEquals("source", target.name);
+        Assert.assertNull(target.remark);
+        Assert.assertNull(target.ignored);
+
+        SourceBean source = new SourceBean();
+        source.total = 5;
+        target = Reflect.copier(SourceBean.class, TargetBean.class, BeanCopier.NullHandling.IGNORE).copy(source, new TargetBean());
+        Assert.assertEquals(5L, target.total);
+        Assert.assertEquals("keep", target.remark);
+    }
+}
@@ -0,0 +1,85 @@
+/**
+ *    Copyright 2021-2022 jinzhaosn
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.github.jinzhaosn.stream;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AsyncFlow类测试
+ *
+ * @auther 961374431@qq.com
+ * @date 2022年01月22日
+ */
+public class AsyncFlowTest {
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void asyncFlowTest() throws Exception {
+        AtomicInteger predicateCalls = new AtomicInteger();
+        CompletableFuture<Optional<Integer>> result = Flow.chooseAsync(executor)
+                .when(false).then(() -> 1)
+                .elseWhenAsync(() -> CompletableFuture.completedFuture(true))
+                .thenAsync(() -> CompletableFuture.supplyAsync(() -> 2, executor))
+                .elseWhen(() -> predicateCalls.incrementAndGet() > 0).then(() -> 3)
+                .otherwise(() -> 4)
+                .getResult(Integer.class);
+        Assert.assertEquals(Optional.of(2), result.get());
+        Assert.assertEquals(0, predicateCalls.get());
+
+        Assert.assertEquals(Optional.of("other"), AsyncFlow.choose(executor)
+                .when(() -> false).then(() -> "first")
+                .otherwise(() -> "other").getResult().get());
+        Assert.assertEquals(Optional.empty(), AsyncFlow.choose(executor)
+                .when(false).then(() -> "first").getResult().get());
+    }
+
+    @Test
+    public void asyncSupplierThreadTest() throws Exception {
+        Thread caller = Thread.currentThread();
+        Assert.assertEquals(Optional.of(true), AsyncFlow.choose(executor)
+                .when(true)
+                .thenAsync(() -> CompletableFuture.completedFuture(Thread.currentThread() != caller))
+                .getResult().get());
+        Assert.assertEquals(Optional.of(true), AsyncFlow.choose(executor)
+                .when(false).then(() -> false)
+                .otherwiseAsync(() -> CompletableFuture.completedFuture(Thread.currentThread() != caller))
+                .getResult().get());
+    }
+
+    @Test(expected = ExecutionException.class)
+    public void asyncFlowFailureTest() throws Exception {
+        AsyncFlow.choose(executor)
+                .when(true).then(() -> {
+                    throw new IllegalStateException("failed");
+                })
+                .getResult().get();
+    }
+}
@@ -0,0 +1,96 @@
+/**
+ *    Copyright 2021-2022 jinzhaosn
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.github.jinzhaosn.util;
+
+import com.github.jinzhaosn.exception.VerifyException;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * CheckUtil类测试
+ *
+ * @auther 961374431@qq.com
+ * @date 2022年01月14日
+ */
+public class CheckUtilTest {
+
+    @Test
+    public void lazyMessageTest() {
+        Assert.assertEquals("ok", CheckUtil.checkThrow("ok", data -> true, () -> {
+            throw new AssertionError("message should not be built");
+        }));
+        CheckUtil.checkTrue(true, "value %s", 1);
+
+        try {
+            CheckUtil.checkThrow(5, data -> data > 10, "%s小于%s", 5, 10);
+            Assert.fail("expect VerifyException");
+        } catch (VerifyException exp) {
+            Assert.assertEquals("5小于10", exp.getMessage());
+        }
+
+        try {
+            CheckUtil.checkArgument(false, () -> "bad argument");
+            Assert.fail("expect IllegalArgumentException");
+        } catch (IllegalArgumentException exp) {
+            Assert.assertEquals("bad argument", exp.getMessage());
+        }
+
+        try {
+            CheckUtil.checkArgument(false, "size %d", 3L);
+            Assert.fail("expect IllegalArgumentException");
+        } catch (IllegalArgumentException exp) {
+            Assert.assertEquals("size 3", exp.getMessage());
+        }
+
+        try {
+            CheckUtil.checkTrue(false, "bad %c", 'x');
+            Assert.fail("expect VerifyException");
+        } catch (VerifyException exp) {
+            Assert.assertEquals("bad x", exp.getMessage());
+        }
+
+        try {
+            CheckUtil.checkArgument(false, "%x", (byte) -1);
+            Assert.fail("expect IllegalArgumentException");
+        } catch (IllegalArgumentException exp) {
+            Assert.assertEquals("ff", exp.getMessage());
+        }
+
+        try {
+            CheckUtil.checkTrue(false, "%s-%s-%s", "a", "b", "c");
+            Assert.fail("expect VerifyException");
+        } catch (VerifyException exp) {
+            Assert.assertEquals("a-b-c", exp.getMessage());
+        }
+    }
+
+    @Test
+    public void stacklessTest() {
+        Assert.assertEquals(0, new VerifyException("quiet", false).getStackTrace().length);
+
+        VerifyException.setStackTraceEnabled(false);
+        try {
+            CheckUtil.checkTrue(false, "rejected");
+            Assert.fail("expect VerifyException");
+        } catch (VerifyException exp) {
+            Assert.assertEquals(0, exp.getStackTrace().length);
+        } finally {
+            VerifyException.setStackTraceEnabled(true);
+        }
+        Assert.assertTrue(new VerifyException("loud").getStackTrace().length > 0);
+    }
+}
@@ -0,0 +1,211 @@
+/**
+ *    Copyright 2021-2022 jinzhaosn
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.github.jinzhaosn.util;
+
+import com.github.jinzhaosn.exception.ExecuteTimeoutException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * ObjectUtil类测试
+ *
+ * @auther 961374431@qq.com
+ * @date 2022年01月17日
+ */
+public class ObjectUtilTest {
+
+    @After
+    public void tearDown() {
+        ObjectUtil.setSuppressionMonitor(null);
+    }
+
+    @Test
+    public void suppressionMonitorTest() {
+        List<String> reported = new ArrayList<>();
+        SuppressionMonitor monitor = SuppressionMonitor.newInstance(
+                (callSite, throwable, count) -> reported.add(callSite), Duration.ofHours(1));
+        ObjectUtil.setSuppressionMonitor(monitor);
+
+        for (int i = 0; i < 10; i++) {
+            Assert.assertNull(ObjectUtil.doSilent(() -> Integer.parseInt("x")));
+        }
+        ObjectUtil.doSilent("y", Integer::parseInt);
+
+        Assert.assertEquals(11, monitor.getTotalCount());
+        Map<String, Long> counts = monitor.getCounts();
+        Assert.assertEquals(2, counts.size());
+        Assert.assertTrue(counts.containsValue(10L));
+        Assert.assertEquals(2, reported.size());
+        Assert.assertTrue(reported.get(0).startsWith(ObjectUtilTest.class.getName() + "$$Lambda"));
+        Assert.assertEquals(10, monitor.getCount(reported.get(0)));
+
+        Assert.assertNull(ObjectUtil.doSilent((Supplier<?>) null));
+        Assert.assertEquals(1, monitor.getCount(ObjectUtil.class.getName()));
+        Assert.assertTrue(monitor.pollRate() > 0);
+    }
+
+    @Test
+    public void withoutMonitorTest() {
+        ObjectUtil.doSilent(() -> {
+            throw new IllegalStateException();
+        });
+        Assert.assertNull(ObjectUtil.getSuppressionMonitor());
+    }
+
+    @Test
+    public void timeoutTest() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Assert.assertEquals("done", ObjectUtil.doWithTimeout(() -> "done", Duration.ofSeconds(1), executor));
+            try {
+                ObjectUtil.doWithTimeout(() -> {
+                    try {
+                        Thread.sleep(5000);
+                    } catch (InterruptedException exp) {
+                        Thread.currentThread().interrupt();
+                    }
+                }, Duration.ofMillis(20), executor);
+                Assert.fail("expect ExecuteTimeoutException");
+            } catch (ExecuteTimeoutException exp) {
+                Assert.assertNotNull(exp.getCause());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void retryTest() {
+        AtomicInteger attempts = new AtomicInteger();
+        String result = ObjectUtil.doWithRetry(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new IllegalStateException("attempt " + attempts.get());
+            }
+            return "ok";
+        }, 3, Duration.ofMillis(1), Duration.ofMillis(5));
+        Assert.assertEquals("ok", result);
+
+        attempts.set(0);
+        try {
+            ObjectUtil.doWithRetry(() -> {
+                throw new IllegalStateException("attempt " + attempts.incrementAndGet());
+            }, 3, Duration.ZERO, Duration.ZERO);
+            Assert.fail("expect IllegalStateException");
+        } catch (IllegalStateException exp) {
+            Assert.assertEquals("attempt 1", exp.getMessage());
+            Assert.assertEquals(2, exp.getSuppressed().length);
+            Assert.assertEquals("attempt 3", exp.getSuppressed()[1].getMessage());
+        }
+
+        IllegalStateException shared = new IllegalStateException("shared");
+        try {
+            ObjectUtil.doWithRetry(() -> {
+                throw shared;
+            }, 3, Duration.ZERO, Duration.ZERO);
+            Assert.fail("expect IllegalStateException");
+        } catch (IllegalStateException exp) {
+            Assert.assertSame(shared, exp);
+            Assert.assertEquals(0, exp.getSuppressed().length);
+        }
+    }
+
+    @Test
+    public void circuitBreakerTest() throws InterruptedException {
+        CircuitBreaker breaker = CircuitBreaker.newInstance(0.5, 4, Duration.ofMillis(50));
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<String> failing = () -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("down");
+        };
+
+        for (int i = 0; i < 4; i++) {
+            Assert.assertEquals("fallback", ObjectUtil.doWithCircuitBreaker(breaker, failing, () -> "fallback"));
+        }
+        Assert.assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        Assert.assertEquals("fallback", ObjectUtil.doWithCircuitBreaker(breaker, failing, () -> "fallback"));
+        Assert.assertEquals(4, calls.get());
+
+        Thread.sleep(60);
+        Assert.assertEquals("up", ObjectUtil.doWithCircuitBreaker(breaker, () -> "up", () -> "fallback"));
+        Assert.assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        try {
+            ObjectUtil.doWithCircuitBreaker(breaker, () -> {
+                throw new AssertionError("fatal");
+            }, () -> "fallback");
+            Assert.fail("expect AssertionError");
+        } catch (AssertionError exp) {
+            Assert.assertEquals("fatal", exp.getMessage());
+        }
+    }
+
+    @Test
+    public void stalePermitTest() throws InterruptedException {
+        CircuitBreaker breaker = CircuitBreaker.newInstance(1, 1, Duration.ofMillis(10));
+        long slow = breaker.tryAcquire();
+        long fast = breaker.tryAcquire();
+        breaker.onFailure(fast);
+        Assert.assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        Assert.assertEquals(CircuitBreaker.REJECTED, breaker.tryAcquire());
+
+        Thread.sleep(20);
+        long trial = breaker.tryAcquire();
+        Assert.assertNotEquals(CircuitBreaker.REJECTED, trial);
+        Assert.assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        // 熔断之前发放的许可完成时不影响试探结果
+        breaker.onSuccess(slow);
+        Assert.assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        breaker.onFailure(trial);
+        Assert.assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    public void sneakyThrowTrialTest() throws InterruptedException {
+        CircuitBreaker breaker = CircuitBreaker.newInstance(1, 1, Duration.ofMillis(10));
+        breaker.onFailure(breaker.tryAcquire());
+        Assert.assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        Thread.sleep(20);
+        try {
+            ObjectUtil.doWithCircuitBreaker(breaker, () -> sneakyThrow(new IOException("io")), () -> "fallback");
+            Assert.fail("expect IOException");
+        } catch (Throwable exp) {
+            Assert.assertTrue(exp instanceof IOException);
+        }
+        // 试探调用失败后回到熔断状态，熔断时长过后可以再次试探
+        Assert.assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        Thread.sleep(20);
+        Assert.assertEquals("up", ObjectUtil.doWithCircuitBreaker(breaker, () -> "up", () -> "fallback"));
+        Assert.assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T, E extends Throwable> T sneakyThrow(Throwable throwable) throws E {
+        throw (E) throwable;
+    }
+}
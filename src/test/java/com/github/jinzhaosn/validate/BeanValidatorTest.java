@@ -0,0 +1,89 @@
+/**
+ *    Copyright 2021-2022 jinzhaosn
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.github.jinzhaosn.validate;
+
+import com.github.jinzhaosn.exception.VerifyException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 注解校验器测试
+ *
+ * @auther 961374431@qq.com
+ * @date 2022年01月12日
+ */
+public class BeanValidatorTest {
+
+    static class UserRequest {
+        @NotNull
+        @Length(min = 2, max = 8)
+        private String name;
+
+        @Range(min = 0, max = 150, message = "年龄不合法")
+        private int age;
+
+        @Range(min = 1)
+        private Long score;
+
+        @Pattern(regexp = "\\d{11}")
+        private String phone;
+
+        @Length(max = 2)
+        private List<String> tags;
+
+        UserRequest(String name, int age, Long score, String phone, List<String> tags) {
+            this.name = name;
+            this.age = age;
+            this.score = score;
+            this.phone = phone;
+            this.tags = tags;
+        }
+    }
+
+    private final BeanValidator<UserRequest> validator = BeanValidator.of(UserRequest.class);
+
+    @Test
+    public void validTest() {
+        UserRequest request = new UserRequest("tom", 18, null, "13800000000", Arrays.asList("a", "b"));
+        Assert.assertSame(request, validator.validate(request));
+        Assert.assertSame(validator, BeanValidator.of(UserRequest.class));
+        Assert.assertTrue(validator.isValid(new UserRequest("tom", 18, 3L, null, null)));
+    }
+
+    @Test
+    public void invalidTest() {
+        assertMessage("name不能为null", new UserRequest(null, 18, null, null, null));
+        assertMessage("name长度超出范围[2, 8]", new UserRequest("t", 18, null, null, null));
+        assertMessage("年龄不合法", new UserRequest("tom", 200, null, null, null));
+        assertMessage("score超出范围[1, " + Long.MAX_VALUE + "]", new UserRequest("tom", 18, 0L, null, null));
+        assertMessage("phone格式不正确", new UserRequest("tom", 18, null, "1380000", null));
+        assertMessage("tags长度超出范围[0, 2]", new UserRequest("tom", 18, null, null, Arrays.asList("a", "b", "c")));
+    }
+
+    private void assertMessage(String message, UserRequest request) {
+        Assert.assertFalse(validator.isValid(request));
+        try {
+            validator.validate(request);
+            Assert.fail("expect VerifyException");
+        } catch (VerifyException exp) {
+            Assert.assertEquals(message, exp.getMessage());
+        }
+    }
+}
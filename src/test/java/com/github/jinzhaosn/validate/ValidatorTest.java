@@ -0,0 +1,127 @@
+/**
+ *    Copyright 2021-2022 jinzhaosn
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package com.github.jinzhaosn.validate;
+
+import com.github.jinzhaosn.exception.VerifyException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * 累积校验器测试
+ *
+ * @auther 961374431@qq.com
+ * @date 2022年01月15日
+ */
+public class ValidatorTest {
+
+    static class Order {
+        @NotNull
+        private String code;
+        private final long amount;
+
+        Order(String code, long amount) {
+            this.code = code;
+            this.amount = amount;
+        }
+    }
+
+    @Test
+    public void validateAllTest() {
+        Validator<Order> validator = Validator.<Order>builder()
+                .constraints(Order.class)
+                .rule(order -> order.amount > 0, "金额必须大于0")
+                .build();
+
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 100000; i++) {
+            orders.add(new Order(i % 1000 == 0 ? null : "o" + i, i % 500 == 0 ? 0 : i));
+        }
+        orders.set(7, null);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ValidationResult result = validator.validateAll(orders, pool);
+            Assert.assertEquals(100 + 200 + 1, result.size());
+            Assert.assertEquals(0, result.getIndex(0));
+            Assert.assertEquals("code不能为null", result.getMessage(0));
+            Assert.assertEquals("金额必须大于0", result.getMessage(1));
+            Assert.assertEquals(7, result.getIndex(2));
+            for (int i = 1; i < result.size(); i++) {
+                Assert.assertTrue(result.getIndex(i - 1) <= result.getIndex(i));
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        Assert.assertTrue(validator.validate(new Order("a", 1)).isValid());
+        Assert.assertEquals(2, validator.validate(new Order(null, 0)).getViolations().size());
+    }
+
+    @Test
+    public void throwingRuleTest() {
+        ValidationResult result = Validator.<String>builder()
+                .rule(data -> Integer.parseInt(data) > 0, "必须为正整数")
+                .rule(data -> !data.isEmpty(), "不能为空")
+                .build()
+                .validateAll(Arrays.asList("1", "x", ""));
+        Assert.assertEquals(3, result.size());
+        Assert.assertEquals(1, result.getIndex(0));
+        Assert.assertEquals("必须为正整数", result.getMessage(0));
+        Assert.assertEquals(2, result.getIndex(2));
+        Assert.assertEquals("不能为空", result.getMessage(2));
+
+        ValidationResult intResult = IntValidator.builder()
+                .rule(value -> 100 / value > 1, "不能整除")
+                .build()
+                .validateAll(new int[]{1, 0});
+        Assert.assertEquals(1, intResult.size());
+        Assert.assertEquals(1, intResult.getIndex(0));
+    }
+
+    @Test(expected = VerifyException.class)
+    public void throwIfInvalidTest() {
+        Validator.<String>builder().rule(data -> !data.isEmpty(), "不能为空").build()
+                .validate("").throwIfInvalid();
+    }
+
+    @Test
+    public void primitiveTest() {
+        int[] values = IntStream.range(0, 50000).toArray();
+        ValidationResult intResult = IntValidator.builder()
+                .rule(value -> value % 10000 != 0, "不能为10000的倍数")
+                .rule(value -> value < 49999, "超出上限")
+                .build()
+                .validateAll(values);
+        Assert.assertEquals(6, intResult.size());
+        Assert.assertEquals(49999, intResult.getIndex(5));
+        Assert.assertEquals("超出上限", intResult.getMessage(5));
+
+        long[] longValues = {1L, -1L, Long.MAX_VALUE};
+        ValidationResult longResult = LongValidator.builder()
+                .rule(value -> value >= 0, "不能为负数")
+                .build()
+                .validateAll(longValues);
+        Assert.assertEquals(1, longResult.size());
+        Assert.assertEquals(1, longResult.getIndex(0));
+    }
+}